@@ -0,0 +1,112 @@
+package com.wallaceespindola.resilience4jdemo.benchmark;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.CacheConfig;
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
+import com.wallaceespindola.resilience4jdemo.config.MetadataCacheProperties;
+import com.wallaceespindola.resilience4jdemo.fault.FaultInjectionSettings;
+import com.wallaceespindola.resilience4jdemo.service.CacheDemoService;
+import com.wallaceespindola.resilience4jdemo.service.MetadataFileStore;
+import io.github.resilience4j.cache.Cache;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency of a metadata cache hit: the former R4J Cache → JCache → Caffeine chain against the
+ * Caffeine {@code AsyncCache} used directly, and the whole {@link CacheDemoService#getMetadata}
+ * hit path on top of it.
+ *
+ * <p>Both chains count the hit, as the service does. Entries never expire (the fresh tier gets a
+ * frozen ticker), so every call is a hit. Add {@code -prof gc} for bytes allocated per hit and
+ * {@code -t 8} for contended numbers:
+ *
+ * <pre>
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.includes=CacheHitPath -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheHitPathBenchmark {
+
+    private static final String           KEY    = "region";
+    private static final Callable<String> LOADER = () -> "EU-WEST-1";
+
+    private CacheManager               jCacheManager;
+    private Cache<String, String>      r4jCache;
+    private final LongAdder            r4jHits = new LongAdder();
+    private CacheConfig                cacheConfig;
+    private AsyncCache<String, String> fresh;
+    private CacheDemoService           service;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        jCacheManager = Caching.getCachingProvider(
+                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider").getCacheManager();
+        javax.cache.Cache<String, String> jCache = jCacheManager.createCache("benchmarkMetadata",
+                new MutableConfiguration<String, String>().setTypes(String.class, String.class).setStoreByValue(false));
+        r4jCache = Cache.of(jCache);
+        r4jCache.getEventPublisher().onCacheHit(e -> r4jHits.increment());
+        Cache.decorateCallable(r4jCache, LOADER).apply(KEY);
+
+        cacheConfig = new CacheConfig();
+        fresh = cacheConfig.buildMetadataCache(() -> 0L, Runnable::run);
+        fresh.synchronous().put(KEY, LOADER.call());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service = new CacheDemoService(fresh,
+                Caffeine.newBuilder().build(),
+                Caffeine.newBuilder().build(),
+                MetadataFileStore.none(),
+                new CoalescingDownstreamClient(new SimulatedDownstreamClient(new FaultInjectionSettings()),
+                        CoalescingProperties.disabled(), registry),
+                cacheConfig,
+                new MetadataCacheProperties(false, Duration.ofMinutes(10), 0, 1, 1,
+                        false, Path.of("unused"), DataSize.ofKilobytes(4), Duration.ofSeconds(10), 1000),
+                CircuitBreakerRegistry.ofDefaults(),
+                registry);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jCacheManager.destroyCache("benchmarkMetadata");
+    }
+
+    /** The old path: a fresh R4J decorator per call, JCache SPI, R4J hit event. */
+    @Benchmark
+    public String r4jOverJCache() throws Throwable {
+        return Cache.decorateCallable(r4jCache, LOADER).apply(KEY);
+    }
+
+    /** The new path: one hash lookup returning a completed future, plus the hit counter. */
+    @Benchmark
+    public String asyncCaffeine() {
+        CompletableFuture<String> cached = fresh.getIfPresent(KEY);
+        cacheConfig.recordHits(1);
+        return cached.join();
+    }
+
+    /** Everything a hit costs in the service: negative tier check, fresh tier, counters. */
+    @Benchmark
+    public String cacheDemoServiceHit() {
+        return service.getMetadata(KEY);
+    }
+}
@@ -0,0 +1,80 @@
+package com.wallaceespindola.resilience4jdemo.benchmark;
+
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import com.wallaceespindola.resilience4jdemo.fault.FaultInjectionSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing one page in {@link SimulatedDownstreamClient#fetchPage} with no fault active,
+ * against the former generation path ({@code "fetchPage#" + seq} context, one shared
+ * {@code Random}, {@code String.formatted} per field) kept here as {@link #formattedSharedRandom}.
+ *
+ * <p>Scores are pages per millisecond; records per millisecond is that times {@code pageSize}.
+ * Add {@code -prof gc} for bytes allocated per page ({@code gc.alloc.rate.norm}) and {@code -t 8}
+ * to see the shared {@code Random} contend:
+ *
+ * <pre>
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.includes=DownstreamGeneration -Djmh.args="-prof gc -t 8"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DownstreamGenerationBenchmark {
+
+    private static final String[] CATEGORIES = {"PAYMENT", "TRANSFER", "DEPOSIT", "WITHDRAWAL", "FEE"};
+
+    @Param({"10", "100", "500"})
+    public int pageSize;
+
+    private SimulatedDownstreamClient client;
+    private final Random sharedRandom = new Random();
+
+    /** Page number per thread, so threads do not share a counter the old path never had. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int page;
+
+        int next() {
+            return page++ & 1023;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        client = new SimulatedDownstreamClient(new FaultInjectionSettings());
+    }
+
+    @Benchmark
+    public List<RecordDto> fetchPage(Cursor cursor) {
+        return client.fetchPage(cursor.next(), pageSize);
+    }
+
+    @Benchmark
+    public List<RecordDto> formattedSharedRandom(Cursor cursor, Blackhole bh) {
+        int p = cursor.next();
+        bh.consume("fetchPage#" + p); // the fault context, built whether or not a fault fires
+        List<RecordDto> records = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            records.add(new RecordDto(
+                    "EXT-%04d-%04d".formatted(p, i),
+                    "Record-P%d-I%d".formatted(p, i),
+                    CATEGORIES[(p + i) % CATEGORIES.length],
+                    "%.2f".formatted(sharedRandom.nextDouble() * 10_000),
+                    p,
+                    i
+            ));
+        }
+        return records;
+    }
+}
@@ -0,0 +1,105 @@
+package com.wallaceespindola.resilience4jdemo.benchmark;
+
+import com.wallaceespindola.resilience4jdemo.client.SimulatedServerException;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties.Layer;
+import com.wallaceespindola.resilience4jdemo.service.ResiliencePipeline;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retry inside vs outside the CircuitBreaker, on a downstream failing {@code failurePercent}% of calls.
+ *
+ * <p>Retry inside the breaker ({@code cb-retry}) shows the breaker one outcome per logical call,
+ * so it only opens when whole calls fail after every retry. Retry outside it ({@code retry-cb})
+ * shows the breaker every attempt: it opens sooner, and the retries then hit the open breaker
+ * instead of the downstream.
+ *
+ * <p>Besides throughput, each thread counts per iteration how many logical calls it made
+ * ({@code calls}), how many reached the downstream ({@code downstreamCalls}) and how many ended
+ * in an error ({@code failures}); {@code downstreamCalls / calls} is the failure amplification.
+ * Retries do not wait, so the numbers show the layer logic and not backoff sleeps.
+ *
+ * <pre>
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.includes=PipelineOrder
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineOrderBenchmark {
+
+    @Param({"cb-retry", "retry-cb"})
+    public String order;
+
+    @Param({"0", "10", "50"})
+    public int failurePercent;
+
+    private ResiliencePipeline<Counters, String> pipeline;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long calls;
+        public long downstreamCalls;
+        public long failures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            calls           = 0;
+            downstreamCalls = 0;
+            failures        = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CircuitBreaker cb = CircuitBreaker.of("downstream", CircuitBreakerConfig.custom()
+                .slidingWindowSize(100)
+                .minimumNumberOfCalls(20)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMillis(100))
+                .permittedNumberOfCallsInHalfOpenState(10)
+                .build());
+        Retry retry = Retry.of("downstream", RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ZERO)
+                .build());
+        List<Layer> layers = switch (order) {
+            case "cb-retry" -> List.of(Layer.CIRCUIT_BREAKER, Layer.RETRY);
+            case "retry-cb" -> List.of(Layer.RETRY, Layer.CIRCUIT_BREAKER);
+            default -> throw new IllegalArgumentException("Unknown order " + order);
+        };
+        pipeline = ResiliencePipeline.<Counters, String>builder("downstream")
+                .circuitBreaker(cb)
+                .retry(retry)
+                .build(layers, counters -> {
+                    counters.downstreamCalls++;
+                    if (ThreadLocalRandom.current().nextInt(100) < failurePercent) {
+                        throw new SimulatedServerException("HTTP 503");
+                    }
+                    return "ok";
+                });
+    }
+
+    @Benchmark
+    public String call(Counters counters) {
+        counters.calls++;
+        try {
+            return pipeline.execute(counters);
+        } catch (Exception e) {
+            counters.failures++;
+            return null;
+        }
+    }
+}
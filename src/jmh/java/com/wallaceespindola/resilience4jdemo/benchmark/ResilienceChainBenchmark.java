@@ -0,0 +1,181 @@
+package com.wallaceespindola.resilience4jdemo.benchmark;
+
+import com.wallaceespindola.resilience4jdemo.client.HedgingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import com.wallaceespindola.resilience4jdemo.config.HedgingProperties;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import com.wallaceespindola.resilience4jdemo.fault.FaultInjectionSettings;
+import com.wallaceespindola.resilience4jdemo.service.AdaptiveConcurrencyLimiter;
+import com.wallaceespindola.resilience4jdemo.service.ResiliencePipeline;
+import com.wallaceespindola.resilience4jdemo.util.RetryAttempts;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Overhead of the resilience decorators around one page fetch: the raw
+ * {@link SimulatedDownstreamClient#fetchPage}, each layer alone, and the full chain both built
+ * with fresh R4J decorators per call (as {@code TransferService} used to) and as the prebuilt
+ * {@link ResiliencePipeline} it uses now.
+ *
+ * <p>No faults are injected and every limit is opened wide enough for 64 threads, so nothing is
+ * ever rejected, retried or timed out: the numbers are the bookkeeping cost of each layer. The
+ * TimeLimiter needs a future, so it is measured together with the {@code transfer}
+ * thread-pool hop it wraps in production; {@link #threadPoolBulkhead} shows the hop alone.
+ *
+ * <p>Throughput and sampled latency are both reported; add {@code -prof gc} for bytes allocated
+ * per call. The thread count is a JMH option, so run once per count ({@code make benchmark-chain}
+ * runs 1, 8 and 64):
+ *
+ * <pre>
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.includes=ResilienceChain -Djmh.args="-t 8 -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResilienceChainBenchmark {
+
+    private static final int PAGE      = 0;
+    private static final int PAGE_SIZE = 10;
+    private static final int THREADS   = 64;
+
+    private SimulatedDownstreamClient  raw;
+    private HedgingDownstreamClient    client;
+    private RateLimiter                rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private CircuitBreaker             cb;
+    private Retry                      retry;
+    private TimeLimiter                timeLimiter;
+    private ThreadPoolBulkhead         downstreamPool;
+    private final AtomicInteger        retries = new AtomicInteger();
+
+    private Callable<List<RecordDto>> rawCall;
+    private ResiliencePipeline<Integer, List<RecordDto>> pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        raw    = new SimulatedDownstreamClient(new FaultInjectionSettings());
+        client = new HedgingDownstreamClient(raw, HedgingProperties.disabled(), registry);
+
+        rateLimiter = RateLimiter.of("downstream", RateLimiterConfig.custom()
+                .limitForPeriod(Integer.MAX_VALUE)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(2 * THREADS).build()),
+                AdaptiveConcurrencyProperties.disabled(), registry);
+        cb          = CircuitBreaker.ofDefaults("downstream");
+        retry       = Retry.ofDefaults("downstream");
+        timeLimiter = TimeLimiter.of("downstream", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(1500))
+                .cancelRunningFuture(true)
+                .build());
+        downstreamPool = ThreadPoolBulkhead.of("transfer", ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(THREADS)
+                .maxThreadPoolSize(THREADS)
+                .queueCapacity(THREADS)
+                .build());
+
+        rawCall = () -> raw.fetchPage(PAGE, PAGE_SIZE);
+
+        pipeline = ResiliencePipeline.<Integer, List<RecordDto>>builder("downstream")
+                .rateLimiter(rateLimiter)
+                .bulkhead(concurrencyLimiter)
+                .circuitBreaker(cb)
+                .retry(retry, (page, attempt) -> {
+                    if (attempt > 1) retries.incrementAndGet();
+                })
+                .timeLimiter(timeLimiter, downstreamPool)
+                .build(ResiliencePipelineProperties.DEFAULT_ORDER, page -> client.fetchPage(page, PAGE_SIZE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        downstreamPool.close();
+    }
+
+    @Benchmark
+    public List<RecordDto> baseline() {
+        return raw.fetchPage(PAGE, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<RecordDto> rateLimiter() throws Exception {
+        return RateLimiter.decorateCallable(rateLimiter, rawCall).call();
+    }
+
+    @Benchmark
+    public List<RecordDto> bulkhead() throws Exception {
+        return concurrencyLimiter.decorateCallable(rawCall).call();
+    }
+
+    @Benchmark
+    public List<RecordDto> circuitBreaker() throws Exception {
+        return CircuitBreaker.decorateCallable(cb, rawCall).call();
+    }
+
+    @Benchmark
+    public List<RecordDto> retry() throws Exception {
+        return Retry.decorateCallable(retry, rawCall).call();
+    }
+
+    @Benchmark
+    public List<RecordDto> threadPoolBulkhead() {
+        return downstreamPool.executeSupplier(() -> raw.fetchPage(PAGE, PAGE_SIZE)).toCompletableFuture().join();
+    }
+
+    @Benchmark
+    public List<RecordDto> timeLimiterOnPool() throws Exception {
+        Supplier<CompletableFuture<List<RecordDto>>> futureSupplier =
+                () -> downstreamPool.executeSupplier(() -> raw.fetchPage(PAGE, PAGE_SIZE)).toCompletableFuture();
+        return timeLimiter.decorateFutureSupplier(futureSupplier).call();
+    }
+
+    /** The whole chain decorated per call, as {@code TransferService} did before the pipeline. */
+    @Benchmark
+    public List<RecordDto> fullChain() throws Exception {
+        Supplier<CompletableFuture<List<RecordDto>>> futureSupplier =
+                () -> downstreamPool.executeSupplier(() -> client.fetchPage(PAGE, PAGE_SIZE))
+                        .toCompletableFuture();
+        Callable<List<RecordDto>> timedCall   = timeLimiter.decorateFutureSupplier(futureSupplier);
+        Callable<List<RecordDto>> countedCall = RetryAttempts.onEachAttempt(timedCall, attempt -> {
+            if (attempt > 1) retries.incrementAndGet();
+        });
+        Callable<List<RecordDto>> retriedCall = Retry.decorateCallable(retry, countedCall);
+        Callable<List<RecordDto>> cbCall      = CircuitBreaker.decorateCallable(cb, retriedCall);
+        Callable<List<RecordDto>> bhCall      = concurrencyLimiter.decorateCallable(cbCall);
+        Callable<List<RecordDto>> rlCall      = RateLimiter.decorateCallable(rateLimiter, bhCall);
+        return rlCall.call();
+    }
+
+    /** The same chain compiled once: {@code TransferService} as it is now. */
+    @Benchmark
+    public List<RecordDto> prebuiltPipeline() throws Exception {
+        return pipeline.execute(PAGE);
+    }
+}
@@ -0,0 +1,72 @@
+package com.wallaceespindola.resilience4jdemo.benchmark;
+
+import com.wallaceespindola.resilience4jdemo.Resilience4jDemoApplication;
+import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import com.wallaceespindola.resilience4jdemo.repo.TransferRecordRepository;
+import com.wallaceespindola.resilience4jdemo.service.TransferService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records/second for a 100k-record bulk transfer, end to end (fetch → queue → writers → H2).
+ *
+ * <p>{@code jdbcBatchSize=1} reproduces the old behaviour, where every record was its own
+ * INSERT round-trip. {@code jdbcBatchSize=50} is the shipped configuration. The rate limiter
+ * is opened up so the persistence path dominates, not the 5 calls/s demo limit.
+ *
+ * <pre>
+ *   mvn -Pbenchmark -DskipTests test-compile exec:exec -Djmh.includes=TransferPersistence
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TransferPersistenceBenchmark.TOTAL_RECORDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TransferPersistenceBenchmark {
+
+    static final int TOTAL_RECORDS = 100_000;
+    private static final int PAGE_SIZE   = 500;
+    private static final int CONCURRENCY = 5;
+
+    @Param({"1", "50"})
+    public int jdbcBatchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransferService transferService;
+    private TransferRecordRepository repository;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        // Command-line args win over application.properties; builder defaults would not.
+        context = new SpringApplicationBuilder(Resilience4jDemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                     "--resilience4j.ratelimiter.instances.downstream.limit-for-period=1000000",
+                     "--logging.level.com.wallaceespindola=WARN",
+                     "--logging.level.io.github.resilience4j=WARN");
+        transferService = context.getBean(TransferService.class);
+        repository      = context.getBean(TransferRecordRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        repository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransferSummary transfer100k() {
+        return transferService.transfer(TOTAL_RECORDS, PAGE_SIZE, CONCURRENCY);
+    }
+}
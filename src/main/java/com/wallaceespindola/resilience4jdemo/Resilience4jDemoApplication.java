@@ -2,7 +2,7 @@ package com.wallaceespindola.resilience4jdemo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
@@ -15,7 +15,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
  * @author Wallace Espindola (wallace.espindola@gmail.com)
  */
 @SpringBootApplication
-@EnableCaching
+@ConfigurationPropertiesScan
 @EnableAsync
 public class Resilience4jDemoApplication {
 
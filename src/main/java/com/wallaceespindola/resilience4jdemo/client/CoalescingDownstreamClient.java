@@ -0,0 +1,142 @@
+package com.wallaceespindola.resilience4jdemo.client;
+
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing in front of {@link SimulatedDownstreamClient}.
+ *
+ * <p>When enabled, a call whose key matches one that is already in flight does not go
+ * downstream: it waits for the running call and receives the same result, or the same
+ * exception. Only the first caller (the leader) runs the call; the key is released as soon
+ * as it finishes, so nothing is cached beyond the life of one call.
+ *
+ * <p>{@link #coalesce} also accepts an already decorated call. The demo services wrap their
+ * Bulkhead / RateLimiter decorated supplier with it, so a burst of identical requests takes
+ * one permit instead of one each: only the leader passes the bulkhead or rate limiter, and
+ * followers share its outcome, rejection included. Such a decorated call must reach the
+ * downstream through {@link #getDelegate()}, not through this client's coalescing methods,
+ * or each call would be coalesced (and counted) twice.
+ *
+ * <p>Counters are exported as {@code downstream.coalesce.*} meters and shown in the metrics snapshot.
+ */
+@Component
+@Slf4j
+public class CoalescingDownstreamClient {
+
+    private final SimulatedDownstreamClient delegate;
+    private final CoalescingProperties      properties;
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls     = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public CoalescingDownstreamClient(SimulatedDownstreamClient delegate,
+                                      CoalescingProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.delegate   = delegate;
+        this.properties = properties;
+
+        FunctionCounter.builder("downstream.coalesce.calls", calls, LongAdder::sum)
+                .description("Calls that went through the coalescing layer")
+                .register(meterRegistry);
+        FunctionCounter.builder("downstream.coalesce.coalesced", coalesced, LongAdder::sum)
+                .description("Calls served by joining an identical in-flight call")
+                .register(meterRegistry);
+        Gauge.builder("downstream.coalesce.in.flight", inFlight, Map::size)
+                .description("Distinct calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    public List<RecordDto> fetchPage(int page, int pageSize) {
+        return coalesce("fetchPage:" + page + ":" + pageSize, () -> delegate.fetchPage(page, pageSize));
+    }
+
+    public String fetchMetadata(String key) {
+        return coalesce("fetchMetadata:" + key, () -> delegate.fetchMetadata(key));
+    }
+
+    public Map<String, String> fetchMetadataBatch(Collection<String> keys) {
+        return coalesce(batchKey(keys), () -> delegate.fetchMetadataBatch(keys));
+    }
+
+    /**
+     * Each key is prefixed with its length, so the encoding is unambiguous whatever the keys
+     * contain: joining with a separator would give {@code ["a,b"]} and {@code ["a", "b"]} the
+     * same key and hand one batch's result to the other.
+     */
+    private static String batchKey(Collection<String> keys) {
+        StringBuilder key = new StringBuilder("fetchMetadataBatch:");
+        for (String k : keys) {
+            key.append(k.length()).append(':').append(k);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Runs {@code call}, or joins the identical call already in flight under {@code key}.
+     * Callers sharing a key must expect the same result type. A failure is rethrown unchanged
+     * to every caller so the resilience layers above still see the original exception.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T coalesce(String key, Supplier<T> call) {
+        if (!properties.enabled()) {
+            return call.get();
+        }
+        calls.increment();
+        CompletableFuture<Object> mine    = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            coalesced.increment();
+            log.debug("Coalesced call {}", key);
+            return (T) join(key, running);
+        }
+        try {
+            T result = call.get();
+            inFlight.remove(key, mine);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static Object join(String key, CompletableFuture<Object> running) {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) throw re;
+            if (cause instanceof Error err) throw err;
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + key, e);
+        }
+    }
+
+    /** The uncoalesced client, for calls the caller already passes through {@link #coalesce}. */
+    public SimulatedDownstreamClient getDelegate() { return delegate; }
+
+    public boolean isEnabled()  { return properties.enabled(); }
+    public long getCalls()      { return calls.sum(); }
+    public long getCoalesced()  { return coalesced.sum(); }
+    public int getInFlight()    { return inFlight.size(); }
+}
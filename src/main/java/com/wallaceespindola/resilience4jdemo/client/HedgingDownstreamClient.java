@@ -0,0 +1,193 @@
+package com.wallaceespindola.resilience4jdemo.client;
+
+import com.wallaceespindola.resilience4jdemo.config.HedgingProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedging decorator around {@link SimulatedDownstreamClient#fetchPage}.
+ *
+ * <p>When enabled, each fetch starts one attempt. If it is still running after the
+ * {@code hedging.percentile} of recent successful latencies, a second attempt for the same
+ * page is fired and whichever succeeds first wins; the other is cancelled (interrupted).
+ * A few slow calls then no longer dominate a transfer's duration.
+ *
+ * <p>Hedges are extra downstream load, so they are paid for from a budget: every fetch earns
+ * {@code hedging.budget-percent} of a hedge, and a hedge is only fired when a whole one has
+ * been earned. Attempts run on virtual threads; the calling thread only waits for the winner.
+ *
+ * <p>Counters are exported as {@code downstream.hedge.*} meters and shown in the metrics snapshot.
+ */
+@Component
+@Slf4j
+public class HedgingDownstreamClient {
+
+    /** Budget is kept in thousandths of a hedge so percentages stay integral. */
+    private static final long HEDGE_COST = 1_000;
+    private static final long MAX_BURST  = 10 * HEDGE_COST;
+
+    private final SimulatedDownstreamClient delegate;
+    private final HedgingProperties         properties;
+    private final ExecutorService           attempts =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedge-", 0).factory());
+
+    private final long[] latenciesMs;
+    private int          latencyCount;
+    private int          latencyNext;
+
+    private final AtomicLong budget          = new AtomicLong();
+    private final LongAdder  requests        = new LongAdder();
+    private final LongAdder  hedged          = new LongAdder();
+    private final LongAdder  hedgeWins       = new LongAdder();
+    private final LongAdder  budgetExhausted = new LongAdder();
+    private final LongAdder  cancelled       = new LongAdder();
+
+    public HedgingDownstreamClient(SimulatedDownstreamClient delegate,
+                                   HedgingProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.delegate    = delegate;
+        this.properties  = properties;
+        this.latenciesMs = new long[properties.windowSize()];
+
+        counter(meterRegistry, "downstream.hedge.requests", requests, "Fetches that went through the hedging client");
+        counter(meterRegistry, "downstream.hedge.fired", hedged, "Second attempts fired");
+        counter(meterRegistry, "downstream.hedge.wins", hedgeWins, "Fetches won by the second attempt");
+        counter(meterRegistry, "downstream.hedge.budget.exhausted", budgetExhausted, "Hedges skipped for lack of budget");
+        counter(meterRegistry, "downstream.hedge.cancelled", cancelled, "Losing attempts cancelled");
+        Gauge.builder("downstream.hedge.delay", this, HedgingDownstreamClient::currentDelayMs)
+                .description("Current hedge delay in ms (-1 while warming up)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, LongAdder adder, String description) {
+        FunctionCounter.builder(name, adder, LongAdder::sum).description(description).register(registry);
+    }
+
+    /**
+     * Fetches a page, hedging slow attempts when enabled. Failures of the last running
+     * attempt are rethrown unchanged so the resilience layers above see the original exception.
+     * If the caller is interrupted while waiting, its attempts are cancelled, the interrupt
+     * flag is restored and a {@link CancellationException} is thrown, which Retry does not retry.
+     */
+    public List<RecordDto> fetchPage(int page, int pageSize) {
+        if (!properties.enabled()) {
+            return delegate.fetchPage(page, pageSize);
+        }
+        requests.increment();
+        budget.updateAndGet(b -> Math.min(MAX_BURST, b + properties.budgetPercent() * HEDGE_COST / 100));
+
+        long delayMs = currentDelayMs();
+        CompletionService<List<RecordDto>> completion = new ExecutorCompletionService<>(attempts);
+        List<Future<List<RecordDto>>> started = new ArrayList<>(2);
+        started.add(completion.submit(() -> timedFetch(page, pageSize)));
+        Future<List<RecordDto>> hedge = null;
+        try {
+            Future<List<RecordDto>> done = delayMs < 0
+                    ? completion.take()
+                    : completion.poll(delayMs, TimeUnit.MILLISECONDS);
+            if (done == null) {
+                if (tryTakeBudget()) {
+                    hedge = completion.submit(() -> timedFetch(page, pageSize));
+                    started.add(hedge);
+                    hedged.increment();
+                    log.debug("Hedging page {} after {}ms", page, delayMs);
+                } else {
+                    budgetExhausted.increment();
+                }
+                done = completion.take();
+            }
+            try {
+                return winner(done, hedge);
+            } catch (ExecutionException first) {
+                if (started.size() == 2) {
+                    try {
+                        return winner(completion.take(), hedge);
+                    } catch (ExecutionException ignored) {
+                        // both attempts failed; report the first failure
+                    }
+                }
+                throw rethrow(first.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            CancellationException cancelled = new CancellationException("Interrupted while fetching page " + page);
+            cancelled.initCause(e);
+            throw cancelled;
+        } finally {
+            for (Future<List<RecordDto>> f : started) {
+                if (!f.isDone() && f.cancel(true)) {
+                    cancelled.increment();
+                }
+            }
+        }
+    }
+
+    private List<RecordDto> winner(Future<List<RecordDto>> done, Future<List<RecordDto>> hedge)
+            throws ExecutionException, InterruptedException {
+        List<RecordDto> records = done.get();
+        if (done == hedge) {
+            hedgeWins.increment();
+        }
+        return records;
+    }
+
+    private List<RecordDto> timedFetch(int page, int pageSize) {
+        long start = System.nanoTime();
+        List<RecordDto> records = delegate.fetchPage(page, pageSize);
+        recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return records;
+    }
+
+    private boolean tryTakeBudget() {
+        long before = budget.getAndUpdate(b -> b >= HEDGE_COST ? b - HEDGE_COST : b);
+        return before >= HEDGE_COST;
+    }
+
+    private synchronized void recordLatency(long ms) {
+        latenciesMs[latencyNext] = ms;
+        latencyNext = (latencyNext + 1) % latenciesMs.length;
+        latencyCount = Math.min(latencyCount + 1, latenciesMs.length);
+    }
+
+    /** Hedge delay from the latency window, or -1 while fewer than {@code min-samples} are known. */
+    public synchronized long currentDelayMs() {
+        if (latencyCount < properties.minSamples()) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(latenciesMs, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(properties.percentile() / 100.0 * sorted.length) - 1;
+        return Math.max(properties.minDelay().toMillis(), sorted[Math.max(0, index)]);
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException re) return re;
+        if (cause instanceof Error err) throw err;
+        return new IllegalStateException(cause);
+    }
+
+    public boolean isEnabled()      { return properties.enabled(); }
+    public long getRequests()        { return requests.sum(); }
+    public long getHedged()          { return hedged.sum(); }
+    public long getHedgeWins()       { return hedgeWins.sum(); }
+    public long getBudgetExhausted() { return budgetExhausted.sum(); }
+    public long getCancelled()       { return cancelled.sum(); }
+
+    @PreDestroy
+    void shutdown() {
+        attempts.shutdownNow();
+    }
+}
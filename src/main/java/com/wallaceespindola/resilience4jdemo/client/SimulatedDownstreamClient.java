@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -19,7 +20,11 @@ import java.util.concurrent.atomic.AtomicInteger;
  *   <li>Forced HTTP 500 (hard-down scenario)</li>
  * </ul>
  *
- * No real network calls are made; data is generated in-memory.
+ * No real network calls are made; data is generated in-memory. Generation is kept cheap so the
+ * simulated downstream does not become the bottleneck of what it is meant to measure: random
+ * numbers come from {@link ThreadLocalRandom} (no shared, contended {@code Random}), record
+ * fields are built by plain concatenation with the per-page parts built once, and the fault
+ * context string is only built for the exception that needs it.
  */
 @Component
 @RequiredArgsConstructor
@@ -27,11 +32,19 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SimulatedDownstreamClient {
 
     private final FaultInjectionSettings settings;
-    private final Random random = new Random();
 
     // Monotonically increasing call counter for unique IDs
     private final AtomicInteger callCounter = new AtomicInteger(0);
 
+    /** Prefix of the value returned for a metadata key the downstream does not know. */
+    public static final String UNKNOWN_PREFIX = "unknown-";
+
+    // Independent draws per call in seeded mode
+    private static final int DELAY_DRAW = 0;
+    private static final int ERROR_DRAW = 1;
+
+    private static final String[] CATEGORIES = {"PAYMENT", "TRANSFER", "DEPOSIT", "WITHDRAWAL", "FEE"};
+
     // Simple in-memory metadata cache baseline (pre-fault)
     private static final Map<String, String> METADATA = Map.of(
             "region",    "EU-WEST-1",
@@ -53,9 +66,11 @@ public class SimulatedDownstreamClient {
     public List<RecordDto> fetchPage(int page, int pageSize) {
         int seq = callCounter.incrementAndGet();
         settings.getTotalCallsAttempted().incrementAndGet();
-        log.debug("fetchPage called: page={}, pageSize={}, seq={}", page, pageSize, seq);
+        if (log.isDebugEnabled()) {
+            log.debug("fetchPage called: page={}, pageSize={}, seq={}", page, pageSize, seq);
+        }
 
-        applyFaults("fetchPage#" + seq);
+        applyFaults("fetchPage", null, seq);
 
         return generateRecords(page, pageSize);
     }
@@ -71,18 +86,46 @@ public class SimulatedDownstreamClient {
         settings.getTotalCallsAttempted().incrementAndGet();
         log.debug("fetchMetadata: key={}", key);
 
-        applyFaults("fetchMetadata/" + key);
+        applyFaults("fetchMetadata", key, 0);
+
+        return METADATA.getOrDefault(key, UNKNOWN_PREFIX + key);
+    }
+
+    /**
+     * Fetches metadata for several keys in one round-trip: faults (and their latency) are
+     * applied once for the whole batch, not once per key.
+     *
+     * @param keys metadata keys
+     * @return value per key, in the order given
+     */
+    public Map<String, String> fetchMetadataBatch(Collection<String> keys) {
+        settings.getTotalCallsAttempted().incrementAndGet();
+        log.debug("fetchMetadataBatch: keys={}", keys);
+
+        applyFaults("fetchMetadataBatch", String.valueOf(keys.size()), 0);
 
-        return METADATA.getOrDefault(key, "unknown-" + key);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : keys) {
+            values.put(key, METADATA.getOrDefault(key, UNKNOWN_PREFIX + key));
+        }
+        return values;
     }
 
     // ---- Private helpers ----
 
-    private void applyFaults(String context) {
+    /**
+     * Applies the active faults; the context in error messages is {@code operation/key}, or
+     * {@code operation#seq} without a key. With a seed set, the random delay and the error
+     * decision come from {@link FaultInjectionSettings#draw} for this call of {@code operation}.
+     */
+    private void applyFaults(String operation, String key, int seq) {
+        Long seed = settings.getSeed();
+        long call = seed == null ? 0 : settings.nextCallNumber(operation);
+
         // 1. Force HTTP 500 (hard failure)
         if (settings.isForceHttp500()) {
             settings.getTotalCallsFailed().incrementAndGet();
-            throw new SimulatedServerException("Forced HTTP 500 [" + context + "]");
+            throw new SimulatedServerException("Forced HTTP 500 [" + context(operation, key, seq) + "]");
         }
 
         // 2. Fixed delay
@@ -92,7 +135,7 @@ public class SimulatedDownstreamClient {
 
         // 3. Random additional delay
         if (settings.getRandomDelayMaxMs() > 0) {
-            long extra = (long) (random.nextDouble() * settings.getRandomDelayMaxMs());
+            long extra = (long) (draw(seed, operation, call, DELAY_DRAW) * settings.getRandomDelayMaxMs());
             if (extra > 0) sleep(extra);
         }
 
@@ -102,22 +145,41 @@ public class SimulatedDownstreamClient {
         }
 
         // 5. Random error rate
-        if (settings.getErrorRate() > 0 && random.nextInt(100) < settings.getErrorRate()) {
+        if (settings.getErrorRate() > 0
+                && (int) (draw(seed, operation, call, ERROR_DRAW) * 100) < settings.getErrorRate()) {
             settings.getTotalCallsFailed().incrementAndGet();
-            throw new SimulatedServerException(
-                    "Random failure [" + context + "] (errorRate=" + settings.getErrorRate() + "%)");
+            throw new SimulatedServerException("Random failure [" + context(operation, key, seq)
+                    + "] (errorRate=" + settings.getErrorRate() + "%)");
         }
     }
 
+    private static double draw(Long seed, String operation, long call, int stream) {
+        return seed == null
+                ? ThreadLocalRandom.current().nextDouble()
+                : FaultInjectionSettings.draw(seed, operation, call, stream);
+    }
+
+    private static String context(String operation, String key, int seq) {
+        return key != null ? operation + "/" + key : operation + "#" + seq;
+    }
+
+    /**
+     * Same output as {@code "EXT-%04d-%04d"}, {@code "Record-P%d-I%d"} and {@code "%.2f"} (with a
+     * '.' whatever the default locale), but without format parsing: each field is one concatenation,
+     * and the page parts are concatenated once per page.
+     */
     private List<RecordDto> generateRecords(int page, int pageSize) {
         List<RecordDto> records = new ArrayList<>(pageSize);
-        String[] categories = {"PAYMENT", "TRANSFER", "DEPOSIT", "WITHDRAWAL", "FEE"};
+        String idPrefix   = "EXT-" + zeroPad4(page) + page + "-";
+        String namePrefix = "Record-P" + page + "-I";
+        ThreadLocalRandom random = ThreadLocalRandom.current();
         for (int i = 0; i < pageSize; i++) {
+            int cents = random.nextInt(1_000_000);
             records.add(new RecordDto(
-                    "EXT-%04d-%04d".formatted(page, i),
-                    "Record-P%d-I%d".formatted(page, i),
-                    categories[(page + i) % categories.length],
-                    "%.2f".formatted(random.nextDouble() * 10_000),
+                    idPrefix + zeroPad4(i) + i,
+                    namePrefix + i,
+                    CATEGORIES[(page + i) % CATEGORIES.length],
+                    cents / 100 + (cents % 100 < 10 ? ".0" : ".") + cents % 100,
                     page,
                     i
             ));
@@ -125,6 +187,14 @@ public class SimulatedDownstreamClient {
         return records;
     }
 
+    /** Zeros that pad a non-negative {@code n} to four digits, as {@code %04d} does. */
+    private static String zeroPad4(int n) {
+        if (n < 0 || n >= 1000) return "";
+        if (n >= 100) return "0";
+        if (n >= 10)  return "00";
+        return "000";
+    }
+
     private void sleep(long ms) {
         try {
             Thread.sleep(ms);
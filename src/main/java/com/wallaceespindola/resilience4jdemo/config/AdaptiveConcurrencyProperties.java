@@ -0,0 +1,52 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * AIMD tuning for the {@code downstream} bulkhead ({@code adaptive-concurrency.*} in
+ * application.properties). The configured {@code max-concurrent-calls} is the starting limit.
+ *
+ * @param enabled          when false the bulkhead keeps its configured limit
+ * @param minLimit         the limit never drops below this
+ * @param maxLimit         the limit never grows above this
+ * @param adjustInterval   how often the limit is re-evaluated from the calls seen since the last tick
+ * @param latencyTolerance back off when the average latency exceeds the baseline by this factor
+ * @param maxErrorRate     back off when the share of failed calls exceeds this (0..1)
+ * @param backoffRatio     multiplicative decrease applied on back-off (0..1)
+ */
+@ConfigurationProperties(prefix = "adaptive-concurrency")
+public record AdaptiveConcurrencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1")    int minLimit,
+        @DefaultValue("20")   int maxLimit,
+        @DefaultValue("1s")   Duration adjustInterval,
+        @DefaultValue("2.0")  double latencyTolerance,
+        @DefaultValue("0.1")  double maxErrorRate,
+        @DefaultValue("0.75") double backoffRatio
+) {
+    public AdaptiveConcurrencyProperties {
+        if (minLimit < 1)        throw new IllegalArgumentException("adaptive-concurrency.min-limit must be >= 1");
+        if (maxLimit < minLimit) throw new IllegalArgumentException("adaptive-concurrency.max-limit must be >= min-limit");
+        if (adjustInterval.isNegative() || adjustInterval.isZero())
+            throw new IllegalArgumentException("adaptive-concurrency.adjust-interval must be positive");
+        if (latencyTolerance < 1.0)
+            throw new IllegalArgumentException("adaptive-concurrency.latency-tolerance must be >= 1.0");
+        if (maxErrorRate < 0 || maxErrorRate > 1)
+            throw new IllegalArgumentException("adaptive-concurrency.max-error-rate must be within 0..1");
+        if (backoffRatio <= 0 || backoffRatio >= 1)
+            throw new IllegalArgumentException("adaptive-concurrency.backoff-ratio must be within (0, 1)");
+    }
+
+    /** Defaults matching application.properties — handy for tests. */
+    public static AdaptiveConcurrencyProperties defaults() {
+        return new AdaptiveConcurrencyProperties(true, 1, 20, Duration.ofSeconds(1), 2.0, 0.1, 0.75);
+    }
+
+    /** A fixed limit: the bulkhead behaves exactly as configured. */
+    public static AdaptiveConcurrencyProperties disabled() {
+        return new AdaptiveConcurrencyProperties(false, 1, 20, Duration.ofSeconds(1), 2.0, 0.1, 0.75);
+    }
+}
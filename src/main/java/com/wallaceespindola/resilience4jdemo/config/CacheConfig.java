@@ -1,79 +1,174 @@
 package com.wallaceespindola.resilience4jdemo.config;
 
-import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
-import io.github.resilience4j.cache.Cache;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.wallaceespindola.resilience4jdemo.dto.MetadataEntry;
+import com.wallaceespindola.resilience4jdemo.service.MetadataFileStore;
+import com.wallaceespindola.resilience4jdemo.util.RollingHitRatio;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import javax.cache.Caching;
-import javax.cache.spi.CachingProvider;
-import java.util.OptionalLong;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
 
 /**
- * Configures Spring Cache (Caffeine) and the Resilience4J Cache wrapper.
+ * Configures the Caffeine caches behind the metadata cache demo.
  *
- * <p>The Resilience4J {@link Cache} instance wraps a JCache-backed Caffeine cache.
- * It exposes hit/miss counters accessible from the dashboard.
+ * <p>The fresh tier is a Caffeine {@link AsyncCache} used directly by {@code CacheDemoService}:
+ * no Spring cache abstraction, JCache SPI or R4J event dispatch on the hit path. It keeps the
+ * R4J Cache semantics the demo relies on: every lookup is recorded as a hit or a miss, and a
+ * lookup that fails in the cache itself falls through to the loader instead of failing the call.
+ *
+ * <p>A second, plain Caffeine cache keeps the last fetched value of every key for up to
+ * {@code metadata-cache.max-staleness}; {@code CacheDemoService} serves from it once the
+ * fresh entry has expired, when {@code metadata-cache.serve-stale=true}. Its load time also
+ * drives refresh-ahead: a hit in the last {@code metadata-cache.refresh-ahead-percent} of
+ * {@link #METADATA_TTL} reloads the key in the background before the fresh entry expires.
+ *
+ * <p>With {@code metadata-cache.l2-enabled=true} a memory-mapped file sits under the fresh tier as
+ * a persistent L2 tier, so a restart does not begin with a cold cache and a miss storm.
+ *
+ * <p>Keys the downstream does not know are remembered in a separate negative cache with its own
+ * short TTL and size bound, so probing random keys neither reaches the downstream every time nor
+ * evicts real entries from the 500-entry cache.
+ *
+ * <p>The counters are {@link LongAdder}s, so concurrent lookups never contend on a shared word.
+ * Alongside them it tracks evictions by cause, the hit ratio over the last
+ * {@link #HIT_RATIO_WINDOW} and the real number of entries; {@code CacheDemoService} exports all
+ * of it as {@code metadata.cache.*} meters.
  */
 @Configuration
-@EnableCaching
-@Slf4j
 public class CacheConfig {
 
-    public static final String METADATA_CACHE = "metadataCache";
+    public static final Duration METADATA_TTL      = Duration.ofSeconds(30);
+    public static final long     METADATA_MAX_SIZE = 500;
+    public static final Duration HIT_RATIO_WINDOW  = Duration.ofMinutes(1);
 
     // Counters for dashboard display
-    public final AtomicLong cacheHits   = new AtomicLong(0);
-    public final AtomicLong cacheMisses = new AtomicLong(0);
+    public final LongAdder cacheHits            = new LongAdder();
+    public final LongAdder cacheMisses          = new LongAdder();
+    public final LongAdder cacheStaleHits       = new LongAdder();
+    public final LongAdder cacheRefreshFailures = new LongAdder();
+    public final LongAdder cacheRefreshAheads   = new LongAdder();
+    public final LongAdder cacheL2Hits          = new LongAdder();
+    public final LongAdder cacheNegativeHits    = new LongAdder();
+    public final LongAdder cacheExpirations     = new LongAdder();
+    public final LongAdder cacheSizeEvictions   = new LongAdder();
+    public final RollingHitRatio hitRatio       = new RollingHitRatio(HIT_RATIO_WINDOW);
 
-    /**
-     * Spring CacheManager backed by Caffeine (used by @Cacheable on non-R4J paths).
-     */
+    private volatile LongSupplier entryCount = () -> 0;
+
+    /** Fresh hits; stale hits are answered from the cache too, so both count as hits in the ratio. */
+    public void recordHits(long count) {
+        cacheHits.add(count);
+        hitRatio.record(count, 0);
+    }
+
+    public void recordStaleHits(long count) {
+        cacheStaleHits.add(count);
+        hitRatio.record(count, 0);
+    }
+
+    public void recordNegativeHits(long count) {
+        cacheNegativeHits.add(count);
+        hitRatio.record(count, 0);
+    }
+
+    public void recordMisses(long count) {
+        cacheMisses.add(count);
+        hitRatio.record(0, count);
+    }
+
+    /** Entries currently held by the fresh tier (0 before it is built). */
+    public long entryCount() {
+        return entryCount.getAsLong();
+    }
+
+    public void resetCounters() {
+        cacheHits.reset();
+        cacheMisses.reset();
+        cacheStaleHits.reset();
+        cacheRefreshFailures.reset();
+        cacheRefreshAheads.reset();
+        cacheL2Hits.reset();
+        cacheNegativeHits.reset();
+        cacheExpirations.reset();
+        cacheSizeEvictions.reset();
+        hitRatio.reset();
+    }
+
+    /** Fresh tier: 30s TTL, at most 500 entries. */
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager manager = new CaffeineCacheManager(METADATA_CACHE);
-        manager.setCacheSpecification("maximumSize=500,expireAfterWrite=30s");
-        return manager;
+    public AsyncCache<String, String> metadataCache() {
+        return buildMetadataCache(Ticker.systemTicker(), ForkJoinPool.commonPool());
     }
 
     /**
-     * JCache instance backed by Caffeine, used by the Resilience4J Cache wrapper.
-     * TTL: 30 seconds, max 500 entries.
+     * Builds the fresh tier with its eviction counters and entry count wired to this config;
+     * {@code ticker} and {@code executor} (which runs maintenance, and so the eviction listener)
+     * are parameters so tests can drive expiry.
      */
-    @Bean
-    public javax.cache.Cache<String, String> jMetadataCache() {
-        CachingProvider provider = Caching.getCachingProvider(
-                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
-        javax.cache.CacheManager cm = provider.getCacheManager();
+    public AsyncCache<String, String> buildMetadataCache(Ticker ticker, Executor executor) {
+        AsyncCache<String, String> cache = Caffeine.newBuilder()
+                .maximumSize(METADATA_MAX_SIZE)
+                .expireAfterWrite(METADATA_TTL)
+                .ticker(ticker)
+                .executor(executor)
+                .evictionListener((String key, String value, RemovalCause cause) -> recordEviction(cause))
+                .buildAsync();
+        entryCount = () -> cache.synchronous().estimatedSize();
+        return cache;
+    }
 
-        // Remove existing cache if it exists (for test restarts)
-        cm.destroyCache(METADATA_CACHE);
+    private void recordEviction(RemovalCause cause) {
+        if (cause == RemovalCause.EXPIRED) {
+            cacheExpirations.increment();
+        } else if (cause == RemovalCause.SIZE) {
+            cacheSizeEvictions.increment();
+        }
+    }
 
-        CaffeineConfiguration<String, String> config = new CaffeineConfiguration<>();
-        config.setMaximumSize(OptionalLong.of(500));
-        config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(30)));
-        config.setStoreByValue(false);
+    /**
+     * Stale tier: last fetched value and its load time per key, dropped once it is older than
+     * max-staleness. Only successful downstream fetches write to it, so the bound is measured
+     * from the fetch.
+     */
+    @Bean
+    public com.github.benmanes.caffeine.cache.Cache<String, MetadataEntry> staleMetadataCache(
+            MetadataCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(METADATA_MAX_SIZE)
+                .expireAfterWrite(properties.maxStaleness())
+                .build();
+    }
 
-        return cm.createCache(METADATA_CACHE, config);
+    /**
+     * Negative tier: keys the downstream answered as unknown, kept apart from the positive
+     * entries and for much shorter.
+     */
+    @Bean
+    public com.github.benmanes.caffeine.cache.Cache<String, String> negativeMetadataCache(
+            MetadataCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.negativeMaxSize())
+                .expireAfterWrite(properties.negativeTtl())
+                .build();
     }
 
     /**
-     * Resilience4J Cache instance wrapping the JCache.
-     * Attaches event listeners to count hits and misses.
+     * Persistent L2 tier: an append-only memory-mapped file consulted on L1 misses and used to
+     * rebuild L1 at startup. Keeps nothing unless {@code metadata-cache.l2-enabled=true}.
      */
     @Bean
-    public Cache<String, String> r4jMetadataCache(javax.cache.Cache<String, String> jMetadataCache) {
-        Cache<String, String> r4jCache = Cache.of(jMetadataCache);
-        r4jCache.getEventPublisher()
-                .onCacheHit(e   -> cacheHits.incrementAndGet())
-                .onCacheMiss(e  -> cacheMisses.incrementAndGet())
-                .onError(e      -> log.warn("Cache error: {}", e.getThrowable().getMessage()));
-        return r4jCache;
+    public MetadataFileStore metadataFileStore(MetadataCacheProperties properties) {
+        if (!properties.l2Enabled()) {
+            return MetadataFileStore.none();
+        }
+        return MetadataFileStore.open(properties.l2Path(), (int) properties.l2Capacity().toBytes());
     }
 }
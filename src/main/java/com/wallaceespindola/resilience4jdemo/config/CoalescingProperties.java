@@ -0,0 +1,20 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Single-flight coalescing of identical downstream calls ({@code coalescing.*} in application.properties).
+ *
+ * @param enabled when false every call goes to the downstream on its own; off by default so the
+ *                Bulkhead and RateLimiter demos still show one permit per click
+ */
+@ConfigurationProperties(prefix = "coalescing")
+public record CoalescingProperties(
+        @DefaultValue("false") boolean enabled
+) {
+    /** Coalescing off: every caller makes its own call. */
+    public static CoalescingProperties disabled() {
+        return new CoalescingProperties(false);
+    }
+}
@@ -0,0 +1,43 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Hedged page fetches ({@code hedging.*} in application.properties).
+ *
+ * @param enabled       when false every fetch is a single plain call
+ * @param percentile    a second attempt is fired once the first has run longer than this
+ *                      percentile of recent successful latencies
+ * @param budgetPercent hedged attempts are capped at this share of fetches (extra load, %)
+ * @param windowSize    number of recent latencies the percentile is computed over
+ * @param minSamples    no hedging until this many latencies have been seen
+ * @param minDelay      never hedge earlier than this, however fast the downstream has been
+ */
+@ConfigurationProperties(prefix = "hedging")
+public record HedgingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("95")    double percentile,
+        @DefaultValue("10")    int budgetPercent,
+        @DefaultValue("100")   int windowSize,
+        @DefaultValue("20")    int minSamples,
+        @DefaultValue("20ms")  Duration minDelay
+) {
+    public HedgingProperties {
+        if (percentile <= 0 || percentile >= 100)
+            throw new IllegalArgumentException("hedging.percentile must be within (0, 100)");
+        if (budgetPercent < 0 || budgetPercent > 100)
+            throw new IllegalArgumentException("hedging.budget-percent must be within 0..100");
+        if (windowSize < 1)  throw new IllegalArgumentException("hedging.window-size must be >= 1");
+        if (minSamples < 1 || minSamples > windowSize)
+            throw new IllegalArgumentException("hedging.min-samples must be within 1..window-size");
+        if (minDelay.isNegative()) throw new IllegalArgumentException("hedging.min-delay must not be negative");
+    }
+
+    /** Hedging off: fetches go straight to the downstream client. */
+    public static HedgingProperties disabled() {
+        return new HedgingProperties(false, 95, 10, 100, 20, Duration.ofMillis(20));
+    }
+}
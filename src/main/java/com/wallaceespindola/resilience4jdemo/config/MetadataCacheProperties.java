@@ -0,0 +1,73 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Metadata cache behaviour beyond the fresh 30s tier ({@code metadata-cache.*} in application.properties).
+ *
+ * @param serveStale          keep expired entries as a stale tier: serve them immediately, refresh in
+ *                            the background, and keep serving them while the refresh fails
+ * @param maxStaleness        a value is never served once it is older than this, however the refresh fares
+ * @param refreshAheadPercent a hit in the last this-many percent of the TTL reloads the key in the
+ *                            background, so hot keys never expire; 0 turns refresh-ahead off
+ * @param refreshThreads      threads that run background refreshes
+ * @param refreshQueue        refreshes waiting for a thread; beyond this they are skipped
+ * @param l2Enabled           persist loaded values to a local memory-mapped file, consult it on
+ *                            an L1 miss and rebuild L1 from it at startup
+ * @param l2Path              the L2 file
+ * @param l2Capacity          size the L2 file is mapped with; it is compacted when full
+ * @param negativeTtl         how long an unknown key is remembered as unknown
+ * @param negativeMaxSize     unknown keys remembered at most, apart from the positive entries;
+ *                            0 turns negative caching off
+ */
+@ConfigurationProperties(prefix = "metadata-cache")
+public record MetadataCacheProperties(
+        @DefaultValue("false") boolean serveStale,
+        @DefaultValue("10m")   Duration maxStaleness,
+        @DefaultValue("20")    int refreshAheadPercent,
+        @DefaultValue("2")     int refreshThreads,
+        @DefaultValue("16")    int refreshQueue,
+        @DefaultValue("false") boolean l2Enabled,
+        @DefaultValue("data/metadata-cache.bin") Path l2Path,
+        @DefaultValue("1MB")   DataSize l2Capacity,
+        @DefaultValue("10s")   Duration negativeTtl,
+        @DefaultValue("1000")  int negativeMaxSize
+) {
+    public MetadataCacheProperties {
+        if (maxStaleness.isZero() || maxStaleness.isNegative())
+            throw new IllegalArgumentException("metadata-cache.max-staleness must be positive");
+        if (refreshAheadPercent < 0 || refreshAheadPercent >= 100)
+            throw new IllegalArgumentException("metadata-cache.refresh-ahead-percent must be within 0..99");
+        if (refreshThreads < 1) throw new IllegalArgumentException("metadata-cache.refresh-threads must be >= 1");
+        if (refreshQueue < 1)   throw new IllegalArgumentException("metadata-cache.refresh-queue must be >= 1");
+        if (l2Capacity.toBytes() < 1024 || l2Capacity.toBytes() > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("metadata-cache.l2-capacity must be within 1KB..2GB");
+        if (negativeTtl.isZero() || negativeTtl.isNegative())
+            throw new IllegalArgumentException("metadata-cache.negative-ttl must be positive");
+        if (negativeMaxSize < 0) throw new IllegalArgumentException("metadata-cache.negative-max-size must be >= 0");
+    }
+
+    /**
+     * Plain 30s cache with refresh-ahead in the last 20% of the TTL and unknown keys remembered
+     * for 10s; no stale serving, no L2 file.
+     */
+    public static MetadataCacheProperties defaults() {
+        return new MetadataCacheProperties(false, Duration.ofMinutes(10), 20, 2, 16,
+                false, Path.of("data/metadata-cache.bin"), DataSize.ofMegabytes(1),
+                Duration.ofSeconds(10), 1000);
+    }
+
+    public boolean refreshAhead() {
+        return refreshAheadPercent > 0;
+    }
+
+    /** Age from which a hit triggers a background reload, for entries that live {@code ttl}. */
+    public Duration refreshAheadAfter(Duration ttl) {
+        return ttl.multipliedBy(100 - refreshAheadPercent).dividedBy(100);
+    }
+}
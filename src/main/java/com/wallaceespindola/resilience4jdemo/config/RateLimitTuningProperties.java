@@ -0,0 +1,49 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Feedback control of the {@code downstream} RateLimiter's {@code limitForPeriod}
+ * ({@code rate-limit-tuning.*} in application.properties).
+ *
+ * @param enabled               when false the limiter keeps its configured limit
+ * @param floor                 the limit never drops below this
+ * @param ceiling               the limit never grows above this
+ * @param adjustInterval        how often the CircuitBreaker rates are sampled
+ * @param increaseStep          permits added per interval while the downstream is healthy
+ * @param backoffRatio          multiplicative decrease when it is not (0..1)
+ * @param failureRateThreshold  back off at or above this CircuitBreaker failure rate (%)
+ * @param slowCallRateThreshold back off at or above this CircuitBreaker slow-call rate (%)
+ * @param history               number of recent adjustments kept for the metrics endpoint
+ */
+@ConfigurationProperties(prefix = "rate-limit-tuning")
+public record RateLimitTuningProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1")     int floor,
+        @DefaultValue("50")    int ceiling,
+        @DefaultValue("2s")    Duration adjustInterval,
+        @DefaultValue("5")     int increaseStep,
+        @DefaultValue("0.5")   double backoffRatio,
+        @DefaultValue("25")    float failureRateThreshold,
+        @DefaultValue("50")    float slowCallRateThreshold,
+        @DefaultValue("20")    int history
+) {
+    public RateLimitTuningProperties {
+        if (floor < 1)       throw new IllegalArgumentException("rate-limit-tuning.floor must be >= 1");
+        if (ceiling < floor) throw new IllegalArgumentException("rate-limit-tuning.ceiling must be >= floor");
+        if (adjustInterval.isNegative() || adjustInterval.isZero())
+            throw new IllegalArgumentException("rate-limit-tuning.adjust-interval must be positive");
+        if (increaseStep < 1) throw new IllegalArgumentException("rate-limit-tuning.increase-step must be >= 1");
+        if (backoffRatio <= 0 || backoffRatio >= 1)
+            throw new IllegalArgumentException("rate-limit-tuning.backoff-ratio must be within (0, 1)");
+        if (history < 1)     throw new IllegalArgumentException("rate-limit-tuning.history must be >= 1");
+    }
+
+    /** Tuning off: the rate limiter behaves exactly as configured. */
+    public static RateLimitTuningProperties disabled() {
+        return new RateLimitTuningProperties(false, 1, 50, Duration.ofSeconds(2), 5, 0.5, 25f, 50f, 20);
+    }
+}
@@ -0,0 +1,48 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Layer order of the resilience pipelines ({@code resilience-pipeline.*} in application.properties).
+ *
+ * <p>Each entry lists the layers of one named downstream from outermost to innermost, e.g.
+ * {@code resilience-pipeline.order.downstream=rate-limiter,bulkhead,circuit-breaker,retry,time-limiter}.
+ * A layer left out is not applied. Downstreams without an entry use {@link #DEFAULT_ORDER}.
+ *
+ * @param order layers per downstream name, outermost first
+ */
+@ConfigurationProperties(prefix = "resilience-pipeline")
+public record ResiliencePipelineProperties(Map<String, List<Layer>> order) {
+
+    public enum Layer { RATE_LIMITER, BULKHEAD, CIRCUIT_BREAKER, RETRY, TIME_LIMITER }
+
+    /** The order the transfer has always used: Retry inside the CircuitBreaker, RateLimiter outermost. */
+    public static final List<Layer> DEFAULT_ORDER = List.of(
+            Layer.RATE_LIMITER, Layer.BULKHEAD, Layer.CIRCUIT_BREAKER, Layer.RETRY, Layer.TIME_LIMITER);
+
+    public ResiliencePipelineProperties {
+        order = order == null ? Map.of() : Map.copyOf(order);
+        order.forEach((name, layers) -> {
+            Set<Layer> seen = EnumSet.noneOf(Layer.class);
+            for (Layer layer : layers) {
+                if (!seen.add(layer))
+                    throw new IllegalArgumentException("resilience-pipeline.order." + name + " lists " + layer + " twice");
+            }
+        });
+    }
+
+    /** Layers of the named downstream, outermost first. */
+    public List<Layer> orderFor(String name) {
+        return order.getOrDefault(name, DEFAULT_ORDER);
+    }
+
+    /** Every downstream on {@link #DEFAULT_ORDER} — handy for tests. */
+    public static ResiliencePipelineProperties defaults() {
+        return new ResiliencePipelineProperties(Map.of());
+    }
+}
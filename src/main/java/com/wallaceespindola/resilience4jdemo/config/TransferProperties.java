@@ -0,0 +1,53 @@
+package com.wallaceespindola.resilience4jdemo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs for the bulk-transfer pipeline ({@code transfer.*} in application.properties).
+ *
+ * @param writerThreads    number of writer threads draining fetched pages into the database
+ * @param queueCapacity    maximum number of fetched pages waiting to be written; when the
+ *                         queue is full the fetch stage blocks (backpressure)
+ * @param commitChunkPages maximum number of queued pages a writer commits in one transaction;
+ *                         the checkpoint watermark moves after each commit
+ * @param jobThreads       number of transfer jobs that may run at the same time
+ * @param jobQueueCapacity submitted jobs allowed to wait for a free job thread; beyond this
+ *                         new submissions are rejected with HTTP 429
+ * @param jobHistory       number of finished jobs kept in memory for polling
+ * @param eventInterval    how often job progress is pushed to SSE subscribers; updates in
+ *                         between are coalesced into one event
+ * @param redriveWindow    how far back fallback pages are re-fetched once the downstream
+ *                         circuit breaker closes again
+ */
+@ConfigurationProperties(prefix = "transfer")
+public record TransferProperties(
+        @DefaultValue("2")   int writerThreads,
+        @DefaultValue("16")  int queueCapacity,
+        @DefaultValue("4")   int commitChunkPages,
+        @DefaultValue("2")   int jobThreads,
+        @DefaultValue("8")   int jobQueueCapacity,
+        @DefaultValue("100") int jobHistory,
+        @DefaultValue("500ms") Duration eventInterval,
+        @DefaultValue("1h")  Duration redriveWindow
+) {
+    public TransferProperties {
+        if (writerThreads < 1)    throw new IllegalArgumentException("transfer.writer-threads must be >= 1");
+        if (queueCapacity < 1)    throw new IllegalArgumentException("transfer.queue-capacity must be >= 1");
+        if (commitChunkPages < 1) throw new IllegalArgumentException("transfer.commit-chunk-pages must be >= 1");
+        if (jobThreads < 1)       throw new IllegalArgumentException("transfer.job-threads must be >= 1");
+        if (jobQueueCapacity < 0) throw new IllegalArgumentException("transfer.job-queue-capacity must be >= 0");
+        if (jobHistory < 1)       throw new IllegalArgumentException("transfer.job-history must be >= 1");
+        if (eventInterval.isNegative() || eventInterval.isZero())
+            throw new IllegalArgumentException("transfer.event-interval must be positive");
+        if (redriveWindow.isNegative() || redriveWindow.isZero())
+            throw new IllegalArgumentException("transfer.redrive-window must be positive");
+    }
+
+    /** Defaults matching application.properties — handy for tests. */
+    public static TransferProperties defaults() {
+        return new TransferProperties(2, 16, 4, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,50 @@
+package com.wallaceespindola.resilience4jdemo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Ledger entry for pages that could not be fetched and fell back.
+ *
+ * <p>One row covers a run of consecutive pages that failed for the same reason, so an
+ * outage costs one row per range instead of {@code pageSize} placeholder records per page.
+ * The records those pages would have held number {@code pageCount * pageSize}.
+ */
+@Entity
+@Table(name = "fallback_pages", indexes = {
+        @Index(name = "idx_fallback_batch_id", columnList = "batchId")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FallbackPageRange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fallback_pages_seq")
+    @SequenceGenerator(name = "fallback_pages_seq", sequenceName = "fallback_pages_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String batchId;
+
+    private int firstPage;
+    private int pageCount;
+    private int pageSize;
+
+    @Column(nullable = false)
+    private String reason; // "CIRCUIT_OPEN" | "BULKHEAD_FULL" | "RATE_LIMITED" | "TIMEOUT" | "ERROR"
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    /** Last page covered by this range (inclusive). */
+    public int lastPage() {
+        return firstPage + pageCount - 1;
+    }
+}
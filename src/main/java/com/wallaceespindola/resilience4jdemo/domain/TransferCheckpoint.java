@@ -0,0 +1,41 @@
+package com.wallaceespindola.resilience4jdemo.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Persisted progress of a bulk transfer, one row per batch.
+ *
+ * <p>{@code lastCommittedPage} is a watermark: every page up to and including it has been
+ * committed. Pages above it may be partly written, so a resume deletes them and fetches
+ * again from {@code lastCommittedPage + 1}.
+ */
+@Entity
+@Table(name = "transfer_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferCheckpoint {
+
+    @Id
+    private String batchId;
+
+    private int totalRecords;
+    private int pageSize;
+    private int pagesTotal;
+    private int concurrency;
+
+    private int lastCommittedPage; // -1 until page 0 is committed
+
+    @Column(nullable = false)
+    private String status; // "RUNNING" | "COMPLETED" | "INCOMPLETE"
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -8,7 +8,14 @@ import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 
-/** JPA entity representing a record successfully transferred from the downstream source. */
+/**
+ * JPA entity representing a record successfully transferred from the downstream source.
+ *
+ * <p>Ids come from a pooled sequence rather than an IDENTITY column: IDENTITY forces
+ * Hibernate to run each INSERT on its own to read the generated key, which silently
+ * disables JDBC batching. With a pooled sequence one round-trip reserves 50 ids and the
+ * inserts go out in batches of {@code hibernate.jdbc.batch_size}.
+ */
 @Entity
 @Table(name = "transfer_records", indexes = {
         @Index(name = "idx_batch_id", columnList = "batchId"),
@@ -21,7 +28,8 @@ import java.time.Instant;
 public class TransferRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transfer_records_seq")
+    @SequenceGenerator(name = "transfer_records_seq", sequenceName = "transfer_records_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,7 +47,7 @@ public class TransferRecord {
     private int sourcePage;
 
     @Column(nullable = false)
-    private String status; // "inserted" | "fallback"
+    private String status; // "inserted" — fallback pages are kept in FallbackPageRange
 
     @Column(nullable = false)
     private Instant transferredAt;
@@ -0,0 +1,18 @@
+package com.wallaceespindola.resilience4jdemo.dto;
+
+/**
+ * Stored state of one batch, built from its records, fallback ledger and checkpoint.
+ *
+ * <p>{@code fallbackRecords} is what the fallback pages would have held
+ * ({@code pages × pageSize}); no placeholder rows are stored for them.
+ */
+public record BatchSummary(
+        String batchId,
+        String status,            // checkpoint status, or "UNKNOWN" for batches without one
+        int pagesTotal,
+        int lastCommittedPage,
+        long recordsInserted,
+        long fallbackPages,
+        long fallbackRecords,
+        long fallbackRanges
+) {}
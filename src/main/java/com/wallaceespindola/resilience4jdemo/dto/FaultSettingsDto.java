@@ -1,6 +1,11 @@
 package com.wallaceespindola.resilience4jdemo.dto;
 
-/** Snapshot / update payload for fault-injection settings. */
+/**
+ * Snapshot / update payload for fault-injection settings.
+ *
+ * <p>{@code seed} switches the error and random-delay draws to seeded mode (see
+ * {@code FaultInjectionSettings#draw}); {@code null} keeps them random.
+ */
 public record FaultSettingsDto(
         int errorRate,
         long fixedDelayMs,
@@ -9,5 +14,14 @@ public record FaultSettingsDto(
         boolean forceHttp500,
         boolean rateLimitMode,
         int maxConcurrentDownstream,
-        boolean chaosMode
-) {}
+        boolean chaosMode,
+        Long seed
+) {
+    /** Unseeded settings. */
+    public FaultSettingsDto(int errorRate, long fixedDelayMs, long randomDelayMaxMs, boolean forceTimeout,
+                            boolean forceHttp500, boolean rateLimitMode, int maxConcurrentDownstream,
+                            boolean chaosMode) {
+        this(errorRate, fixedDelayMs, randomDelayMaxMs, forceTimeout, forceHttp500, rateLimitMode,
+                maxConcurrentDownstream, chaosMode, null);
+    }
+}
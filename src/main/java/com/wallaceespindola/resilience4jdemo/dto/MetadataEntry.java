@@ -0,0 +1,12 @@
+package com.wallaceespindola.resilience4jdemo.dto;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/** A metadata value and when it was fetched from the downstream, kept by the stale tier. */
+public record MetadataEntry(String value, Instant loadedAt) {
+
+    public Duration age(Instant now) {
+        return Duration.between(loadedAt, now);
+    }
+}
@@ -0,0 +1,13 @@
+package com.wallaceespindola.resilience4jdemo.dto;
+
+/** One evaluation of the rate-limit tuner and the CircuitBreaker readings behind it. */
+public record RateLimitDecision(
+        String action,          // "INCREASE" | "DECREASE" | "HOLD"
+        int fromLimit,
+        int toLimit,
+        String circuitState,
+        float failureRate,      // -1 until the breaker has seen its minimum number of calls
+        float slowCallRate,
+        String reason,
+        String timestamp
+) {}
@@ -1,13 +1,18 @@
 package com.wallaceespindola.resilience4jdemo.dto;
 
 import java.time.Instant;
+import java.util.List;
 
 /** Snapshot of all R4J module metrics for the dashboard. */
 public record ResilienceMetricsDto(
         CircuitBreakerMetrics circuitBreaker,
         RetryMetrics retry,
         RateLimiterMetrics rateLimiter,
+        RateLimitTuningMetrics rateLimitTuning,
         BulkheadMetrics bulkhead,
+        ThreadPoolBulkheadMetrics threadPoolBulkhead,
+        HedgingMetrics hedging,
+        CoalescingMetrics coalescing,
         CacheMetrics cache,
         String timestamp
 ) {
@@ -32,14 +37,62 @@ public record ResilienceMetricsDto(
             long waitingThreads
     ) {}
 
+    /** Self-tuning state of the rate limiter and the decisions behind its current limit. */
+    public record RateLimitTuningMetrics(
+            boolean enabled,
+            int limitForPeriod,
+            int floor,
+            int ceiling,
+            RateLimitDecision lastDecision,
+            List<RateLimitDecision> recentAdjustments
+    ) {}
+
     public record BulkheadMetrics(
             int availableConcurrentCalls,
             int maxAllowedConcurrentCalls
     ) {}
 
+    /** The {@code transfer} pool that runs async downstream calls. */
+    public record ThreadPoolBulkheadMetrics(
+            int activeThreads,
+            int poolSize,
+            int corePoolSize,
+            int maxPoolSize,
+            int queueDepth,
+            int queueCapacity
+    ) {}
+
+    /** Hedged page fetches; {@code delayMs} is -1 while the latency window is warming up. */
+    public record HedgingMetrics(
+            boolean enabled,
+            long delayMs,
+            long requests,
+            long hedged,
+            long hedgeWins,
+            long budgetExhausted,
+            long cancelled
+    ) {}
+
+    /** Single-flight coalescing; {@code coalesced} calls joined an identical call already in flight. */
+    public record CoalescingMetrics(
+            boolean enabled,
+            long calls,
+            long coalesced,
+            int inFlight
+    ) {}
+
+    /** Metadata cache; {@code staleHits} were answered from the stale tier while a refresh ran. */
     public record CacheMetrics(
             long hits,
             long misses,
+            long staleHits,
+            long refreshFailures,
+            long refreshAheads,
+            long l2Hits,
+            long negativeHits,
+            long expirations,
+            long sizeEvictions,
+            double hitRatio,
             long size
     ) {}
 
@@ -49,17 +102,25 @@ public record ResilienceMetricsDto(
         private CircuitBreakerMetrics cb;
         private RetryMetrics retry;
         private RateLimiterMetrics rl;
+        private RateLimitTuningMetrics rlTuning;
         private BulkheadMetrics bh;
+        private ThreadPoolBulkheadMetrics tpb;
+        private HedgingMetrics hedging;
+        private CoalescingMetrics coalescing;
         private CacheMetrics cache;
 
         public Builder circuitBreaker(CircuitBreakerMetrics v) { cb = v; return this; }
         public Builder retry(RetryMetrics v)                   { retry = v; return this; }
         public Builder rateLimiter(RateLimiterMetrics v)       { rl = v; return this; }
+        public Builder rateLimitTuning(RateLimitTuningMetrics v) { rlTuning = v; return this; }
         public Builder bulkhead(BulkheadMetrics v)             { bh = v; return this; }
+        public Builder threadPoolBulkhead(ThreadPoolBulkheadMetrics v) { tpb = v; return this; }
+        public Builder hedging(HedgingMetrics v)               { hedging = v; return this; }
+        public Builder coalescing(CoalescingMetrics v)         { coalescing = v; return this; }
         public Builder cache(CacheMetrics v)                   { cache = v; return this; }
 
         public ResilienceMetricsDto build() {
-            return new ResilienceMetricsDto(cb, retry, rl, bh, cache, Instant.now().toString());
+            return new ResilienceMetricsDto(cb, retry, rl, rlTuning, bh, tpb, hedging, coalescing, cache, Instant.now().toString());
         }
     }
 }
@@ -0,0 +1,17 @@
+package com.wallaceespindola.resilience4jdemo.dto;
+
+/**
+ * Snapshot of an asynchronous transfer job, returned on submit and by the polling endpoint.
+ *
+ * <p>{@code progress} holds the live counters while the job is running and the final
+ * summary once it has finished. The job id is also the transfer's batch id.
+ */
+public record TransferJobStatus(
+        String jobId,
+        String state,          // "QUEUED" | "RUNNING" | "COMPLETED" | "FAILED"
+        String error,
+        String submittedAt,
+        String startedAt,
+        String finishedAt,
+        TransferSummary progress
+) {}
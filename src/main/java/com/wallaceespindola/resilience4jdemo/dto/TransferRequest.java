@@ -1,12 +1,23 @@
 package com.wallaceespindola.resilience4jdemo.dto;
 
-/** Parameters for starting a bulk transfer. */
+/**
+ * Parameters for starting a bulk transfer.
+ *
+ * <p>{@code concurrency} is the number of pages fetched in parallel; 0 (or omitted)
+ * keeps the classic one-page-at-a-time behaviour.
+ */
 public record TransferRequest(
         int totalRecords,
-        int pageSize
+        int pageSize,
+        int concurrency
 ) {
     public TransferRequest {
         if (totalRecords <= 0) throw new IllegalArgumentException("totalRecords must be > 0");
         if (pageSize <= 0 || pageSize > 500) throw new IllegalArgumentException("pageSize must be 1–500");
+        if (concurrency < 0 || concurrency > 64) throw new IllegalArgumentException("concurrency must be 0–64");
+    }
+
+    public TransferRequest(int totalRecords, int pageSize) {
+        this(totalRecords, pageSize, 0);
     }
 }
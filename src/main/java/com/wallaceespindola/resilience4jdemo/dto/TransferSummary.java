@@ -2,7 +2,19 @@ package com.wallaceespindola.resilience4jdemo.dto;
 
 import java.time.Instant;
 
-/** Summary returned after a bulk-transfer operation. */
+/**
+ * Summary returned after a bulk-transfer operation.
+ *
+ * <p>{@code maxQueueDepth}, {@code fetchBlockedMs} and {@code persistBlockedMs} describe the
+ * fetch → persist hand-off: time the fetch stage waited for queue space versus time the
+ * writers waited for pages tells you which stage is the bottleneck.
+ *
+ * <p>{@code startPage} is 0 for a fresh transfer and the first re-fetched page for a resumed
+ * one. {@code lastCommittedPage} is the checkpoint watermark a later resume would continue from.
+ *
+ * <p>{@code persistFailures} counts pages whose commit chunk was rolled back;
+ * {@code lastPersistError} is the message of the most recent such failure, or {@code null}.
+ */
 public record TransferSummary(
         String batchId,
         int totalRequested,
@@ -16,6 +28,16 @@ public record TransferSummary(
         int bulkheadRejections,
         int rateLimiterRejections,
         int timeoutRejections,
+        int concurrency,
+        int persistFailures,
+        String lastPersistError,
+        int writerThreads,
+        int queueCapacity,
+        int maxQueueDepth,
+        long fetchBlockedMs,
+        long persistBlockedMs,
+        int startPage,
+        int lastCommittedPage,
         long durationMs,
         String timestamp
 ) {
@@ -26,6 +48,11 @@ public record TransferSummary(
         private int totalRequested, pagesAttempted, pagesSucceeded, pagesFailed;
         private int recordsInserted, retriesTotal, fallbacksUsed;
         private int circuitBreakerRejections, bulkheadRejections, rateLimiterRejections, timeoutRejections;
+        private int concurrency = 1;
+        private int persistFailures, writerThreads, queueCapacity, maxQueueDepth;
+        private String lastPersistError;
+        private long fetchBlockedMs, persistBlockedMs;
+        private int startPage, lastCommittedPage = -1;
         private long durationMs;
 
         public Builder batchId(String v)                    { batchId = v; return this; }
@@ -40,13 +67,25 @@ public record TransferSummary(
         public Builder bulkheadRejections(int v)            { bulkheadRejections = v; return this; }
         public Builder rateLimiterRejections(int v)         { rateLimiterRejections = v; return this; }
         public Builder timeoutRejections(int v)             { timeoutRejections = v; return this; }
+        public Builder concurrency(int v)                   { concurrency = v; return this; }
+        public Builder persistFailures(int v)               { persistFailures = v; return this; }
+        public Builder lastPersistError(String v)           { lastPersistError = v; return this; }
+        public Builder writerThreads(int v)                 { writerThreads = v; return this; }
+        public Builder queueCapacity(int v)                 { queueCapacity = v; return this; }
+        public Builder maxQueueDepth(int v)                 { maxQueueDepth = v; return this; }
+        public Builder fetchBlockedMs(long v)               { fetchBlockedMs = v; return this; }
+        public Builder persistBlockedMs(long v)             { persistBlockedMs = v; return this; }
+        public Builder startPage(int v)                     { startPage = v; return this; }
+        public Builder lastCommittedPage(int v)             { lastCommittedPage = v; return this; }
         public Builder durationMs(long v)                   { durationMs = v; return this; }
 
         public TransferSummary build() {
             return new TransferSummary(batchId, totalRequested, pagesAttempted, pagesSucceeded,
                     pagesFailed, recordsInserted, retriesTotal, fallbacksUsed,
                     circuitBreakerRejections, bulkheadRejections, rateLimiterRejections,
-                    timeoutRejections, durationMs, Instant.now().toString());
+                    timeoutRejections, concurrency, persistFailures, lastPersistError, writerThreads,
+                    queueCapacity, maxQueueDepth, fetchBlockedMs, persistBlockedMs, startPage,
+                    lastCommittedPage, durationMs, Instant.now().toString());
         }
     }
 }
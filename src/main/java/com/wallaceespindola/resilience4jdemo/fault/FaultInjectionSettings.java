@@ -1,12 +1,16 @@
 package com.wallaceespindola.resilience4jdemo.fault;
 
 import com.wallaceespindola.resilience4jdemo.dto.FaultSettingsDto;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Singleton bean holding the current fault-injection configuration.
@@ -14,6 +18,13 @@ import java.util.concurrent.atomic.AtomicInteger;
  * <p>All downstream client calls read this to decide whether to introduce
  * delays, errors, or other failure modes. Volatile fields ensure
  * visibility across threads without requiring full synchronization.
+ *
+ * <p>With a {@link #getSeed() seed} set, the error and random-delay draws of a call are no longer
+ * random: call {@code N} of an operation ({@code fetchPage}, {@code fetchMetadata}, ...) draws
+ * {@link #draw(long, String, long, int)} of the seed, the operation and {@code N}. Applying
+ * settings restarts every operation at call 1, so the same settings replay the same fault
+ * sequence — call by call for sequential traffic, and as the same set of outcomes per call number
+ * when calls race for their numbers.
  */
 @Component
 @Getter
@@ -54,6 +65,13 @@ public class FaultInjectionSettings {
      */
     private volatile boolean chaosMode = false;
 
+    /** Seed of the fault draws; {@code null} draws from a per-thread random generator. */
+    private volatile Long seed = null;
+
+    /** Calls made per operation since the seed was last applied. */
+    @Getter(AccessLevel.NONE)
+    private final Map<String, AtomicLong> seededCalls = new ConcurrentHashMap<>();
+
     // ---- Counters (for metrics / UI display) ----
     private final AtomicInteger totalCallsAttempted = new AtomicInteger(0);
     private final AtomicInteger totalCallsFailed    = new AtomicInteger(0);
@@ -72,13 +90,14 @@ public class FaultInjectionSettings {
         errorRate = 0; fixedDelayMs = 0; randomDelayMaxMs = 0;
         forceTimeout = false; forceHttp500 = false;
         rateLimitMode = false; maxConcurrentDownstream = 10; chaosMode = false;
+        setSeed(null);
         totalCallsAttempted.set(0); totalCallsFailed.set(0);
         log.info("Fault: RESET (all healthy)");
     }
 
     public FaultSettingsDto toDto() {
         return new FaultSettingsDto(errorRate, fixedDelayMs, randomDelayMaxMs,
-                forceTimeout, forceHttp500, rateLimitMode, maxConcurrentDownstream, chaosMode);
+                forceTimeout, forceHttp500, rateLimitMode, maxConcurrentDownstream, chaosMode, seed);
     }
 
     public void applyFrom(FaultSettingsDto dto) {
@@ -90,5 +109,40 @@ public class FaultInjectionSettings {
         rateLimitMode = dto.rateLimitMode();
         maxConcurrentDownstream = dto.maxConcurrentDownstream();
         chaosMode = dto.chaosMode();
+        setSeed(dto.seed());
+    }
+
+    // ---- Seeded mode ----
+
+    /** Sets (or, with {@code null}, clears) the seed and restarts every operation at call 1. */
+    public void setSeed(Long seed) {
+        this.seed = seed;
+        seededCalls.clear();
+    }
+
+    /** Number of this call of {@code operation} since the seed was applied, starting at 1. */
+    public long nextCallNumber(String operation) {
+        return seededCalls.computeIfAbsent(operation, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Draw {@code stream} of call {@code n} of {@code operation}, uniform in [0, 1).
+     *
+     * <p>A pure function of its arguments: the inputs are folded together with the SplitMix64
+     * finalizer, and {@link String#hashCode()} is fixed by the language spec, so the value is
+     * the same on every JVM and every run. Separate {@code stream}s give independent draws for
+     * the same call (e.g. delay and error).
+     */
+    public static double draw(long seed, String operation, long n, int stream) {
+        long h = mix(seed ^ 0x9E3779B97F4A7C15L * (operation.hashCode() + 1L));
+        h = mix(h ^ n);
+        h = mix(h + stream);
+        return (h >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 }
@@ -0,0 +1,38 @@
+package com.wallaceespindola.resilience4jdemo.repo;
+
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface FallbackPageRangeRepository extends JpaRepository<FallbackPageRange, Long> {
+
+    List<FallbackPageRange> findByBatchIdOrderByFirstPage(String batchId);
+
+    /** Ranges recorded since the given instant, oldest first — the re-drive work list. */
+    List<FallbackPageRange> findByRecordedAtAfterOrderByIdAsc(Instant since);
+
+    @Query("SELECT DISTINCT f.batchId FROM FallbackPageRange f")
+    List<String> findDistinctBatchIds();
+
+    @Query("SELECT COALESCE(SUM(f.pageCount), 0) FROM FallbackPageRange f WHERE f.batchId = :batchId")
+    long sumPagesByBatchId(@Param("batchId") String batchId);
+
+    @Query("SELECT COALESCE(SUM(f.pageCount * f.pageSize), 0) FROM FallbackPageRange f WHERE f.batchId = :batchId")
+    long sumRecordsByBatchId(@Param("batchId") String batchId);
+
+    long countByBatchId(String batchId);
+
+    /** Removes ranges above a checkpoint watermark before a resume re-fetches those pages. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM FallbackPageRange f WHERE f.batchId = :batchId AND f.firstPage > :page")
+    int deleteByBatchIdAfterPage(@Param("batchId") String batchId, @Param("page") int page);
+}
@@ -0,0 +1,30 @@
+package com.wallaceespindola.resilience4jdemo.repo;
+
+import com.wallaceespindola.resilience4jdemo.domain.TransferCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface TransferCheckpointRepository extends JpaRepository<TransferCheckpoint, String> {
+
+    /**
+     * Moves the watermark forward. Writers commit chunks concurrently, so the
+     * {@code < :page} guard keeps a late, lower update from moving it back.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransferCheckpoint c SET c.lastCommittedPage = :page, c.updatedAt = :now "
+            + "WHERE c.batchId = :batchId AND c.lastCommittedPage < :page")
+    int advanceWatermark(@Param("batchId") String batchId, @Param("page") int page, @Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE TransferCheckpoint c SET c.status = :status, c.updatedAt = :now WHERE c.batchId = :batchId")
+    int updateStatus(@Param("batchId") String batchId, @Param("status") String status, @Param("now") Instant now);
+}
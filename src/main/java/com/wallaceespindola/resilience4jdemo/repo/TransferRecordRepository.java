@@ -2,8 +2,11 @@ package com.wallaceespindola.resilience4jdemo.repo;
 
 import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -18,4 +21,10 @@ public interface TransferRecordRepository extends JpaRepository<TransferRecord,
     List<String> findDistinctBatchIds();
 
     long countByBatchIdAndStatus(String batchId, String status);
+
+    /** Removes rows of pages above a checkpoint watermark before a resume re-fetches them. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TransferRecord r WHERE r.batchId = :batchId AND r.sourcePage > :page")
+    int deleteByBatchIdAfterPage(@Param("batchId") String batchId, @Param("page") int page);
 }
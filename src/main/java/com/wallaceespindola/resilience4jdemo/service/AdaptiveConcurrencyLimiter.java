@@ -0,0 +1,217 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Adaptive concurrency limit for the {@code downstream} bulkhead (AIMD with a latency gradient).
+ *
+ * <p>Calls decorated here pass through the regular semaphore {@link Bulkhead}, and their
+ * latency and outcome are sampled from inside it. Every {@code adjust-interval} the limit is
+ * re-evaluated from the samples of the last interval:
+ * <ul>
+ *   <li>error rate above {@code max-error-rate}, or average latency above
+ *       {@code latency-tolerance ×} the baseline → multiply the limit by {@code backoff-ratio}</li>
+ *   <li>otherwise, if the limit was actually reached → add one</li>
+ * </ul>
+ * The baseline is the lowest average seen, drifting slowly towards the current average so a
+ * permanently slower downstream eventually becomes the new normal.
+ *
+ * <p>The new limit is applied with {@link Bulkhead#changeConfig}, which blocks while shrinking
+ * until enough in-flight calls have finished — hence the dedicated adjuster thread. The current
+ * limit is exported as the {@code resilience4j.bulkhead.adaptive.limit} gauge and shows up as
+ * {@code maxAllowedConcurrentCalls} in the bulkhead metrics.
+ */
+@Service
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /** How far the baseline moves towards a higher average per tick. */
+    private static final double BASELINE_DRIFT = 0.05;
+
+    private final Bulkhead                      bulkhead;
+    private final AdaptiveConcurrencyProperties properties;
+
+    private final LongAdder     samples      = new LongAdder();
+    private final LongAdder     errors       = new LongAdder();
+    private final LongAdder     latencyNanos = new LongAdder();
+    private final AtomicInteger inFlight     = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private double baselineMs; // only touched by the adjuster thread
+
+    private final ScheduledExecutorService adjuster;
+
+    public AdaptiveConcurrencyLimiter(BulkheadRegistry bulkheadRegistry,
+                                      AdaptiveConcurrencyProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.bulkhead   = bulkheadRegistry.bulkhead("downstream");
+        this.properties = properties;
+
+        Gauge.builder("resilience4j.bulkhead.adaptive.limit", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("Current adaptive concurrency limit of the bulkhead")
+                .tag("name", bulkhead.getName())
+                .register(meterRegistry);
+
+        if (properties.enabled()) {
+            int configured = currentLimit();
+            applyLimit(Math.max(properties.minLimit(), Math.min(properties.maxLimit(), configured)));
+            long intervalMs = properties.adjustInterval().toMillis();
+            adjuster = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("adaptive-concurrency").daemon().factory());
+            adjuster.scheduleAtFixedRate(this::adjustSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            adjuster = null;
+        }
+    }
+
+    /** The underlying bulkhead, e.g. for its metrics. */
+    public Bulkhead bulkhead() {
+        return bulkhead;
+    }
+
+    /** Calls currently permitted in flight. */
+    public int currentLimit() {
+        return bulkhead.getBulkheadConfig().getMaxConcurrentCalls();
+    }
+
+    /** Highest limit the adjuster may reach — callers size their fan-out with this. */
+    public int ceiling() {
+        return properties.enabled() ? properties.maxLimit() : currentLimit();
+    }
+
+    public <T> Callable<T> decorateCallable(Callable<T> callable) {
+        return () -> execute(Callable::call, callable);
+    }
+
+    /**
+     * Runs {@code step} with {@code input} inside the bulkhead, sampled like a decorated callable.
+     * Used by prebuilt {@link ResiliencePipeline}s, which must not build a decorator per call.
+     */
+    public <I, O> O execute(ResiliencePipeline.Step<I, O> step, I input) throws Exception {
+        bulkhead.acquirePermission();
+        long start = begin();
+        boolean sampled = true;
+        boolean failed  = false;
+        try {
+            return step.call(input);
+        } catch (CallNotPermittedException | CancellationException | InterruptedException e) {
+            sampled = false; // rejected or cancelled — says nothing about downstream latency
+            throw e;
+        } catch (Exception e) {
+            failed = true;
+            throw e;
+        } finally {
+            end(start, sampled, failed);
+            bulkhead.onComplete();
+        }
+    }
+
+    public <T> Supplier<T> decorateSupplier(Supplier<T> supplier) {
+        return Bulkhead.decorateSupplier(bulkhead, () -> {
+            long start = begin();
+            boolean sampled = true;
+            boolean failed  = false;
+            try {
+                return supplier.get();
+            } catch (CallNotPermittedException | CancellationException e) {
+                sampled = false;
+                throw e;
+            } catch (RuntimeException e) {
+                failed = true;
+                throw e;
+            } finally {
+                end(start, sampled, failed);
+            }
+        });
+    }
+
+    private long begin() {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        return System.nanoTime();
+    }
+
+    private void end(long start, boolean sampled, boolean failed) {
+        inFlight.decrementAndGet();
+        if (sampled) {
+            latencyNanos.add(System.nanoTime() - start);
+            samples.increment();
+            if (failed) {
+                errors.increment();
+            }
+        }
+    }
+
+    private void adjustSafely() {
+        try {
+            adjust();
+        } catch (RuntimeException e) {
+            log.error("Adaptive concurrency adjustment failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** One AIMD step over the samples collected since the previous call. Returns the new limit. */
+    int adjust() {
+        long n     = samples.sumThenReset();
+        long errs  = errors.sumThenReset();
+        long nanos = latencyNanos.sumThenReset();
+        int  peak  = peakInFlight.getAndSet(inFlight.get());
+        int  limit = currentLimit();
+        if (n == 0) {
+            return limit;
+        }
+
+        double avgMs     = nanos / 1_000_000.0 / n;
+        double errorRate = (double) errs / n;
+        if (baselineMs <= 0 || avgMs < baselineMs) {
+            baselineMs = avgMs;
+        } else {
+            baselineMs += (avgMs - baselineMs) * BASELINE_DRIFT;
+        }
+
+        int next = limit;
+        if (errorRate > properties.maxErrorRate() || avgMs > baselineMs * properties.latencyTolerance()) {
+            next = Math.max(properties.minLimit(), (int) (limit * properties.backoffRatio()));
+        } else if (peak >= limit) {
+            next = Math.min(properties.maxLimit(), limit + 1);
+        }
+        if (next != limit) {
+            log.info("Adaptive concurrency: {} → {} (avg={}ms, baseline={}ms, errors={}/{})",
+                    limit, next, Math.round(avgMs), Math.round(baselineMs), errs, n);
+            applyLimit(next);
+        }
+        return next;
+    }
+
+    private void applyLimit(int limit) {
+        if (limit != currentLimit()) {
+            bulkhead.changeConfig(BulkheadConfig.from(bulkhead.getBulkheadConfig())
+                    .maxConcurrentCalls(limit)
+                    .build());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (adjuster != null) {
+            adjuster.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+/** Thrown when a batch cannot be run or resumed in its current state (already complete or running). */
+public class BatchConflictException extends IllegalStateException {
+
+    public BatchConflictException(String message) {
+        super(message);
+    }
+}
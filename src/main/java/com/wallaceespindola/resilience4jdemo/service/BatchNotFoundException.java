@@ -0,0 +1,11 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import java.util.NoSuchElementException;
+
+/** Thrown when a batch id has no checkpoint or stored rows. */
+public class BatchNotFoundException extends NoSuchElementException {
+
+    public BatchNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,9 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
-import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
-import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,21 +16,29 @@ import java.util.function.Supplier;
 /**
  * Demonstrates the Bulkhead (semaphore) pattern.
  *
- * <p>The bulkhead allows at most 5 concurrent calls (configured in application.properties).
- * Triggering 10 concurrent calls shows 5 succeeding and 5 being rejected immediately.
+ * <p>The bulkhead starts at 5 concurrent calls (configured in application.properties) and
+ * the {@link AdaptiveConcurrencyLimiter} grows or shrinks that limit from observed latency and
+ * errors. Triggering 10 concurrent calls shows roughly the current limit succeeding and the
+ * rest being rejected immediately.
+ *
+ * <p>With {@code coalescing.enabled=true} identical concurrent calls share one trip through
+ * the bulkhead, so a burst no longer exhausts it. Coalescing happens once, around the
+ * bulkhead-decorated call; inside it the downstream is called without coalescing.
  */
 @Service
 @Slf4j
 public class BulkheadDemoService {
 
+    private final AdaptiveConcurrencyLimiter limiter;
     private final Bulkhead                 bulkhead;
-    private final SimulatedDownstreamClient client;
+    private final CoalescingDownstreamClient client;
     private final CircuitBreakerRegistry   cbRegistry;
 
-    public BulkheadDemoService(BulkheadRegistry registry,
-                               SimulatedDownstreamClient client,
+    public BulkheadDemoService(AdaptiveConcurrencyLimiter limiter,
+                               CoalescingDownstreamClient client,
                                CircuitBreakerRegistry cbRegistry) {
-        this.bulkhead   = registry.bulkhead("downstream");
+        this.limiter    = limiter;
+        this.bulkhead   = limiter.bulkhead();
         this.client     = client;
         this.cbRegistry = cbRegistry;
     }
@@ -41,16 +48,16 @@ public class BulkheadDemoService {
         long start   = System.currentTimeMillis();
         String cbState = cbRegistry.circuitBreaker("downstream").getState().name();
 
-        Supplier<DemoCallResult> decorated = Bulkhead.decorateSupplier(bulkhead, () -> {
-            client.fetchPage(0, 1);
-            long elapsed = System.currentTimeMillis() - start;
-            return DemoCallResult.success("Bulkhead",
-                    "Admitted (available=%d)".formatted(bulkhead.getMetrics().getAvailableConcurrentCalls()),
-                    1, elapsed, cbState);
+        Supplier<Integer> decorated = limiter.decorateSupplier(() -> {
+            client.getDelegate().fetchPage(0, 1);
+            return bulkhead.getMetrics().getAvailableConcurrentCalls();
         });
 
         try {
-            return decorated.get();
+            int available = client.coalesce("bulkhead:fetchPage:0:1", decorated);
+            long elapsed = System.currentTimeMillis() - start;
+            return DemoCallResult.success("Bulkhead",
+                    "Admitted (available=%d)".formatted(available), 1, elapsed, cbState);
         } catch (BulkheadFullException e) {
             long elapsed = System.currentTimeMillis() - start;
             log.warn("Bulkhead full");
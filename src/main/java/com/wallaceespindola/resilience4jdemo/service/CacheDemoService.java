@@ -1,85 +1,492 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.config.CacheConfig;
-import io.github.resilience4j.cache.Cache;
+import com.wallaceespindola.resilience4jdemo.config.MetadataCacheProperties;
+import com.wallaceespindola.resilience4jdemo.dto.MetadataEntry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Demonstrates the Resilience4J Cache pattern.
+ * Demonstrates caching in front of a slow, failing downstream.
  *
- * <p>The Cache wraps the expensive {@code fetchMetadata} downstream call.
- * On the first call the value is fetched (miss), on subsequent calls it is
- * returned from the Caffeine-backed JCache (hit).
+ * <p>The expensive {@code fetchMetadata} downstream call sits behind a get-or-load on a Caffeine
+ * {@link AsyncCache} (the fresh tier): a lookup either finds the key's future (hit) or installs a
+ * new one and loads the value into it (miss). Because the tier holds futures, concurrent misses
+ * for one key wait on that single load. Every lookup is counted as a hit or a miss, a failed
+ * load is removed again so the next lookup retries it, and an error inside the cache itself
+ * falls through to the downstream call.
  *
  * <p>Enable fault injection (e.g. errorRate=80%) and observe that cached values
  * are served even when the downstream would fail — the cache protects against
  * repeated expensive/failing calls.
+ *
+ * <p>Misses go through {@link CoalescingDownstreamClient}: with {@code coalescing.enabled=true}
+ * concurrent misses for the same key make a single downstream call.
+ *
+ * <p>With {@code metadata-cache.serve-stale=true} an expired key is answered from the stale tier
+ * straight away and refreshed in the background; while the downstream keeps failing the stale
+ * value is served until it reaches {@code metadata-cache.max-staleness}.
+ *
+ * <p>{@link #getAll} looks several keys up at once and loads all the missing ones with a single
+ * {@code fetchMetadataBatch} call, so a bulk lookup costs one downstream round-trip, not one per key.
+ *
+ * <p>Refresh-ahead: a hit on an entry in the last {@code metadata-cache.refresh-ahead-percent} of
+ * its TTL reloads it in the background, so hot keys are renewed before they expire. Background
+ * refreshes run on a small bounded pool (excess ones are skipped) and go through the
+ * {@code downstream} CircuitBreaker, so they stop while the circuit is open.
+ *
+ * <p>With {@code metadata-cache.l2-enabled=true} every loaded value is also appended to the
+ * {@link MetadataFileStore}. An L1 miss is answered from it when it holds a value younger than
+ * max-staleness, and L1 is rebuilt from it at startup. Values taken from L2 keep their original
+ * load time, so refresh-ahead renews them on the next hit.
+ *
+ * <p>A key the downstream answers as unknown goes to the negative tier only — never to the fresh tier,
+ * the stale tier or L2 — and is answered from there until {@code metadata-cache.negative-ttl}.
+ *
+ * <p>Cache telemetry is exported as {@code metadata.cache.*} meters: gets by result, evictions by
+ * cause, entry count, rolling hit ratio and a latency histogram of downstream loads
+ * ({@code metadata.cache.load}), which together show whether the size and TTL fit the traffic.
  */
 @Service
 @Slf4j
 public class CacheDemoService {
 
-    private final Cache<String, String>             r4jCache;
-    private final javax.cache.Cache<String, String> jCache;
-    private final SimulatedDownstreamClient         client;
+    private static final List<String> WELL_KNOWN_KEYS = List.of("region", "env", "version", "owner", "sla");
+
+    private final AsyncCache<String, String>        fresh;
+    private final Cache<String, MetadataEntry>      staleTier;
+    private final Cache<String, String>             negativeTier;
+    private final MetadataFileStore                 l2;
+    private final CoalescingDownstreamClient        client;
     private final CacheConfig                       cacheConfig;
+    private final MetadataCacheProperties           properties;
+    private final CircuitBreaker                    cb;
+    private final Duration                          refreshAheadAfter;
+    private final Timer                             loadSuccess;
+    private final Timer                             loadFailure;
+
+    private final Set<String>     refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher;
 
-    public CacheDemoService(Cache<String, String> r4jCache,
-                            javax.cache.Cache<String, String> jMetadataCache,
-                            SimulatedDownstreamClient client,
-                            CacheConfig cacheConfig) {
-        this.r4jCache    = r4jCache;
-        this.jCache      = jMetadataCache;
+    public CacheDemoService(AsyncCache<String, String> metadataCache,
+                            Cache<String, MetadataEntry> staleMetadataCache,
+                            Cache<String, String> negativeMetadataCache,
+                            MetadataFileStore metadataFileStore,
+                            CoalescingDownstreamClient client,
+                            CacheConfig cacheConfig,
+                            MetadataCacheProperties properties,
+                            CircuitBreakerRegistry cbRegistry,
+                            MeterRegistry meterRegistry) {
+        this.fresh        = metadataCache;
+        this.staleTier    = staleMetadataCache;
+        this.negativeTier = negativeMetadataCache;
+        this.l2          = metadataFileStore;
         this.client      = client;
         this.cacheConfig = cacheConfig;
+        this.properties  = properties;
+        this.cb          = cbRegistry.circuitBreaker("downstream");
+        this.refreshAheadAfter = properties.refreshAheadAfter(CacheConfig.METADATA_TTL);
+        this.refresher   = new ThreadPoolExecutor(properties.refreshThreads(), properties.refreshThreads(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.refreshQueue()),
+                Thread.ofPlatform().name("metadata-refresh-", 0).daemon().factory());
+
+        counter(meterRegistry, "metadata.cache.gets", "result", "hit", cacheConfig.cacheHits, "Lookups answered by a fresh entry");
+        counter(meterRegistry, "metadata.cache.gets", "result", "miss", cacheConfig.cacheMisses, "Lookups that had to load");
+        counter(meterRegistry, "metadata.cache.gets", "result", "stale", cacheConfig.cacheStaleHits, "Lookups answered by a stale entry");
+        counter(meterRegistry, "metadata.cache.gets", "result", "l2", cacheConfig.cacheL2Hits, "Misses answered by the L2 file");
+        counter(meterRegistry, "metadata.cache.gets", "result", "negative", cacheConfig.cacheNegativeHits, "Lookups of keys known to be unknown");
+        counter(meterRegistry, "metadata.cache.evictions", "cause", "expired", cacheConfig.cacheExpirations, "Entries dropped at the end of their TTL");
+        counter(meterRegistry, "metadata.cache.evictions", "cause", "size", cacheConfig.cacheSizeEvictions, "Entries dropped to stay within the maximum size");
+        counter(meterRegistry, "metadata.cache.refreshes", "result", "ahead", cacheConfig.cacheRefreshAheads, "Keys queued for refresh-ahead");
+        counter(meterRegistry, "metadata.cache.refreshes", "result", "failure", cacheConfig.cacheRefreshFailures, "Background refreshes that failed");
+        Gauge.builder("metadata.cache.size", cacheConfig, CacheConfig::entryCount)
+                .description("Entries in the metadata cache")
+                .register(meterRegistry);
+        Gauge.builder("metadata.cache.negative.size", negativeTier, c -> c.estimatedSize())
+                .description("Unknown keys remembered by the negative tier")
+                .register(meterRegistry);
+        Gauge.builder("metadata.cache.hit.ratio", cacheConfig, c -> {
+                    double ratio = c.hitRatio.ratio();
+                    return ratio < 0 ? Double.NaN : ratio;
+                })
+                .description("Hit ratio over the last " + CacheConfig.HIT_RATIO_WINDOW.toSeconds() + "s (NaN when idle)")
+                .register(meterRegistry);
+        this.loadSuccess = loadTimer(meterRegistry, "success");
+        this.loadFailure = loadTimer(meterRegistry, "failure");
+    }
+
+    private static void counter(MeterRegistry registry, String name, String tag, String value,
+                                LongAdder adder, String description) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .tag(tag, value)
+                .description(description)
+                .register(registry);
+    }
+
+    private static Timer loadTimer(MeterRegistry registry, String result) {
+        return Timer.builder("metadata.cache.load")
+                .tag("result", result)
+                .description("Downstream loads of missing or refreshed keys")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Rebuilds L1 from the L2 file, skipping values older than max-staleness. */
+    @PostConstruct
+    void warmUp() {
+        if (!l2.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        Instant now = Instant.now();
+        int loaded = 0;
+        for (Map.Entry<String, MetadataEntry> e : l2.entries().entrySet()) {
+            if (isServable(e.getValue(), now)) {
+                fresh.synchronous().put(e.getKey(), e.getValue().value());
+                staleTier.put(e.getKey(), e.getValue());
+                loaded++;
+            }
+        }
+        log.info("Metadata cache warmed from L2: {} of {} keys in {}ms",
+                loaded, l2.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
     }
 
     /**
-     * Fetches metadata for the given key, using the R4J Cache decorator.
+     * Fetches metadata for the given key through the fresh tier.
      *
      * @param key metadata key (e.g. "region", "env", "version")
      * @return metadata value (from cache or downstream)
      */
     public String getMetadata(String key) {
         log.debug("getMetadata: key={}", key);
+        String unknown = negativeTier.getIfPresent(key);
+        if (unknown != null) {
+            cacheConfig.recordNegativeHits(1);
+            return unknown;
+        }
+        CompletableFuture<String> cached = lookup(key);
+        if (cached == null && properties.serveStale()) {
+            MetadataEntry stale = staleTier.getIfPresent(key);
+            if (isServable(stale, Instant.now())) {
+                cacheConfig.recordStaleHits(1);
+                log.debug("Serving stale {} (age {})", key, stale.age(Instant.now()));
+                refreshInBackground(List.of(key));
+                return stale.value();
+            }
+        }
+        String value;
+        if (cached != null) {
+            cacheConfig.recordHits(1);
+            value = await(key, cached);
+        } else {
+            cacheConfig.recordMisses(1);
+            value = loadThrough(key);
+        }
+        refreshAheadIfDue(List.of(key));
+        return value;
+    }
+
+    /** The fresh entry (possibly still loading) or null; an error inside the cache counts as absent. */
+    private CompletableFuture<String> lookup(String key) {
         try {
-            return Cache.decorateCallable(r4jCache, () -> client.fetchMetadata(key)).apply(key);
-        } catch (Throwable t) {
-            throw new RuntimeException("Cache lookup failed for key=" + key, t);
+            return fresh.getIfPresent(key);
+        } catch (RuntimeException e) {
+            log.warn("Cache error: {}", e.getMessage());
+            return null;
         }
     }
 
-    /** Returns all well-known metadata keys in one call (batch cache demo). */
-    public Map<String, String> getAllMetadata() {
-        String[] keys = {"region", "env", "version", "owner", "sla"};
-        var result = new java.util.LinkedHashMap<String, String>();
-        for (String key : keys) {
+    /**
+     * Loads {@code key} on the calling thread and publishes it in the fresh tier. A concurrent miss
+     * for the same key waits for this load instead of starting its own. Caffeine drops a failed
+     * load from the cache by itself; an unknown key is removed before its waiters are released.
+     */
+    private String loadThrough(String key) {
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        CompletableFuture<String> inFlight;
+        try {
+            inFlight = fresh.asMap().putIfAbsent(key, loading);
+        } catch (RuntimeException e) {
+            log.warn("Cache error: {}", e.getMessage());
+            return load(key, null);
+        }
+        return inFlight != null ? await(key, inFlight) : load(key, loading);
+    }
+
+    private String load(String key, CompletableFuture<String> loading) {
+        try {
+            String value = loadAll(List.of(key), true).get(key);
+            if (loading != null) {
+                if (isUnknown(key, value)) {
+                    fresh.asMap().remove(key, loading);
+                }
+                loading.complete(value);
+            }
+            return value;
+        } catch (RuntimeException e) {
+            if (loading != null) {
+                loading.completeExceptionally(e);
+            }
+            throw new RuntimeException("Cache lookup failed for key=" + key, e);
+        }
+    }
+
+    private static String await(String key, CompletableFuture<String> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Cache lookup failed for key=" + key, e.getCause());
+        }
+    }
+
+    /**
+     * Looks up several keys at once. Fresh entries are hits, stale ones are served and refreshed
+     * in the background, and all remaining keys are loaded with one batched downstream call.
+     *
+     * @param keys metadata keys
+     * @return value per key, in the order given
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Set<String> wanted = new LinkedHashSet<>(keys);
+        Map<String, String> found = new HashMap<>(negativeTier.getAllPresent(wanted));
+        cacheConfig.recordNegativeHits(found.size());
+        Set<String> positive = new LinkedHashSet<>(wanted);
+        positive.removeAll(found.keySet());
+        Map<String, String> hits = getAllPresent(positive);
+        cacheConfig.recordHits(hits.size());
+        refreshAheadIfDue(hits.keySet());
+        found.putAll(hits);
+
+        List<String>        stale   = new ArrayList<>();
+        List<String>        missing = new ArrayList<>();
+        Instant             now     = Instant.now();
+        for (String key : wanted) {
+            if (found.containsKey(key)) continue;
+            MetadataEntry entry = properties.serveStale() ? staleTier.getIfPresent(key) : null;
+            if (isServable(entry, now)) {
+                found.put(key, entry.value());
+                stale.add(key);
+            } else {
+                missing.add(key);
+            }
+        }
+        if (!stale.isEmpty()) {
+            cacheConfig.recordStaleHits(stale.size());
+            refreshInBackground(stale);
+        }
+        if (!missing.isEmpty()) {
+            cacheConfig.recordMisses(missing.size());
             try {
-                result.put(key, getMetadata(key));
-            } catch (Exception e) {
-                result.put(key, "ERROR: " + e.getMessage());
+                Map<String, String> loaded = loadAll(missing, true);
+                fresh.synchronous().putAll(known(loaded));
+                found.putAll(loaded);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Cache lookup failed for keys=" + missing, e);
             }
         }
+
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String key : wanted) {
+            result.put(key, found.get(key));
+        }
         return result;
     }
 
+    /** Fresh values of {@code keys} that have finished loading; an error inside the cache counts as none. */
+    private Map<String, String> getAllPresent(Set<String> keys) {
+        try {
+            return fresh.synchronous().getAllPresent(keys);
+        } catch (RuntimeException e) {
+            log.warn("Cache error: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Loads {@code keys}, taking what it can from L2 when {@code useL2} and the rest with one
+     * downstream call. Every known value is recorded with its load time in the stale tier, and
+     * fetched ones are appended to L2; unknown keys go to the negative tier instead.
+     */
+    private Map<String, String> loadAll(List<String> keys, boolean useL2) {
+        Map<String, String> values = new HashMap<>();
+        List<String>        remote = new ArrayList<>();
+        Instant             now    = Instant.now();
+        for (String key : keys) {
+            MetadataEntry persisted = useL2 ? l2.get(key) : null;
+            if (isServable(persisted, now)) {
+                values.put(key, persisted.value());
+                staleTier.put(key, persisted);
+                cacheConfig.cacheL2Hits.increment();
+            } else {
+                remote.add(key);
+            }
+        }
+        if (remote.isEmpty()) {
+            return values;
+        }
+        Map<String, String> fetched;
+        long start = System.nanoTime();
+        try {
+            fetched = remote.size() == 1
+                    ? Map.of(remote.get(0), client.fetchMetadata(remote.get(0)))
+                    : client.fetchMetadataBatch(remote);
+        } catch (RuntimeException e) {
+            loadFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        loadSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Instant loadedAt = Instant.now();
+        fetched.forEach((key, value) -> {
+            values.put(key, value);
+            if (isUnknown(key, value)) {
+                negativeTier.put(key, value);
+                return;
+            }
+            MetadataEntry entry = new MetadataEntry(value, loadedAt);
+            staleTier.put(key, entry);
+            l2.put(key, entry);
+        });
+        return values;
+    }
+
+    private static boolean isUnknown(String key, String value) {
+        return (SimulatedDownstreamClient.UNKNOWN_PREFIX + key).equals(value);
+    }
+
+    private static Map<String, String> known(Map<String, String> values) {
+        Map<String, String> known = new HashMap<>(values);
+        known.entrySet().removeIf(e -> isUnknown(e.getKey(), e.getValue()));
+        return known;
+    }
+
+    /** A value from the stale tier or L2 may be served until it is max-staleness old. */
+    private boolean isServable(MetadataEntry entry, Instant now) {
+        return entry != null && entry.age(now).compareTo(properties.maxStaleness()) < 0;
+    }
+
+    /** Reloads the given fresh keys in the background if they are in the last part of their TTL. */
+    private void refreshAheadIfDue(Collection<String> keys) {
+        if (!properties.refreshAhead() || keys.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<String> due = keys.stream()
+                .filter(key -> {
+                    MetadataEntry entry = staleTier.getIfPresent(key);
+                    return entry != null && entry.age(now).compareTo(refreshAheadAfter) >= 0;
+                })
+                .toList();
+        if (!due.isEmpty()) {
+            cacheConfig.cacheRefreshAheads.add(refreshInBackground(due));
+        }
+    }
+
+    /** Queues one refresh for the keys not already being refreshed; returns how many were queued. */
+    private int refreshInBackground(Collection<String> keys) {
+        List<String> claimed = keys.stream().filter(refreshing::add).toList();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    refresh(claimed);
+                } finally {
+                    claimed.forEach(refreshing::remove);
+                }
+            });
+            return claimed.size();
+        } catch (RejectedExecutionException e) {
+            claimed.forEach(refreshing::remove);
+            log.debug("Refresh queue full, skipped refresh of {}", claimed);
+            return 0;
+        }
+    }
+
+    /**
+     * Re-fetches {@code keys} into both tiers through the circuit breaker; on failure (or an open
+     * circuit) the cached and stale values stay in place.
+     */
+    void refresh(List<String> keys) {
+        try {
+            fresh.synchronous().putAll(known(cb.executeSupplier(() -> loadAll(keys, false))));
+        } catch (RuntimeException e) {
+            cacheConfig.cacheRefreshFailures.increment();
+            log.warn("Metadata refresh failed for {}: {}", keys, e.getMessage());
+        }
+    }
+
+    /** Returns all well-known metadata keys in one call (batch cache demo). */
+    public Map<String, String> getAllMetadata() {
+        try {
+            return getAll(WELL_KNOWN_KEYS);
+        } catch (RuntimeException e) {
+            // the batch for the missing keys failed; still show whatever the cache holds
+            Map<String, String> result = new LinkedHashMap<>();
+            for (String key : WELL_KNOWN_KEYS) {
+                String cached = peek(key);
+                result.put(key, cached != null ? cached : "ERROR: " + e.getMessage());
+            }
+            return result;
+        }
+    }
+
+    /** Fresh or (when serving stale) stale value without touching the counters, or null. */
+    private String peek(String key) {
+        String value = fresh.synchronous().getIfPresent(key);
+        if (value != null || !properties.serveStale()) {
+            return value;
+        }
+        MetadataEntry stale = staleTier.getIfPresent(key);
+        return isServable(stale, Instant.now()) ? stale.value() : null;
+    }
+
     /** Invalidates all cache entries. */
     public void clearCache() {
-        jCache.clear();
-        cacheConfig.cacheHits.set(0);
-        cacheConfig.cacheMisses.set(0);
+        fresh.synchronous().invalidateAll();
+        staleTier.invalidateAll();
+        negativeTier.invalidateAll();
+        l2.clear();
+        cacheConfig.resetCounters();
         log.info("Metadata cache cleared");
     }
 
-    /** Returns current hit/miss counters. */
+    /** Returns current hit/miss counters and the number of cached entries. */
     public Map<String, Long> getStats() {
         return Map.of(
-                "hits",   cacheConfig.cacheHits.get(),
-                "misses", cacheConfig.cacheMisses.get()
+                "hits",            cacheConfig.cacheHits.sum(),
+                "misses",          cacheConfig.cacheMisses.sum(),
+                "staleHits",       cacheConfig.cacheStaleHits.sum(),
+                "refreshFailures", cacheConfig.cacheRefreshFailures.sum(),
+                "refreshAheads",   cacheConfig.cacheRefreshAheads.sum(),
+                "l2Hits",          cacheConfig.cacheL2Hits.sum(),
+                "negativeHits",    cacheConfig.cacheNegativeHits.sum(),
+                "expirations",     cacheConfig.cacheExpirations.sum(),
+                "sizeEvictions",   cacheConfig.cacheSizeEvictions.sum(),
+                "size",            cacheConfig.entryCount()
         );
     }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
 }
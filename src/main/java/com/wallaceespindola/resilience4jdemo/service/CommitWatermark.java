@@ -0,0 +1,42 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Highest page below which every page has been committed.
+ *
+ * <p>Writers commit chunks out of order (page 7 may land before page 5), so committed
+ * pages are remembered until the gap closes and the watermark can move past them.
+ */
+final class CommitWatermark {
+
+    private final BitSet committed = new BitSet();
+    private int watermark;
+
+    CommitWatermark(int lastCommittedPage) {
+        this.watermark = lastCommittedPage;
+    }
+
+    /** Records committed pages and returns the (possibly unchanged) watermark. */
+    synchronized int commit(Collection<Integer> pages) {
+        pages.forEach(committed::set);
+        while (committed.get(watermark + 1)) {
+            committed.clear(++watermark);
+        }
+        return watermark;
+    }
+
+    /** The watermark {@link #commit} would return for {@code pages}, without recording them. */
+    synchronized int peek(Collection<Integer> pages) {
+        int next = watermark;
+        while (committed.get(next + 1) || pages.contains(next + 1)) {
+            next++;
+        }
+        return next;
+    }
+
+    synchronized int get() {
+        return watermark;
+    }
+}
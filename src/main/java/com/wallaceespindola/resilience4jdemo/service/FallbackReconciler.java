@@ -0,0 +1,192 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import com.wallaceespindola.resilience4jdemo.repo.FallbackPageRangeRepository;
+import com.wallaceespindola.resilience4jdemo.repo.TransferRecordRepository;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-fetches fallback pages once the downstream has recovered.
+ *
+ * <p>A single listener on the {@code downstream} CircuitBreaker starts a re-drive whenever
+ * the breaker transitions to CLOSED. The re-drive walks the {@link FallbackPageRange} ledger
+ * entries recorded within {@code transfer.redrive-window}, one page at a time, through the
+ * shared {@code downstream} RateLimiter and CircuitBreaker — recovery traffic counts against
+ * the same budget as live transfers, so it cannot stampede a service that just came back.
+ *
+ * <p>Each recovered page is committed together with its ledger update: the real records are
+ * inserted and the range shrinks from the front (or is deleted once empty). The run stops as
+ * soon as the breaker leaves CLOSED; whatever is left is picked up on the next recovery.
+ *
+ * <p>Each page is fetched and committed under the batch's claim in {@link TransferService},
+ * the same one a transfer or resume holds from preparation until it finishes. A batch that
+ * is claimed elsewhere is skipped; once the claim is taken the range is reloaded, so a range
+ * a resume deleted or moved in the meantime is never written back.
+ */
+@Service
+@Slf4j
+public class FallbackReconciler {
+
+    private final SimulatedDownstreamClient   client;
+    private final FallbackPageRangeRepository fallbacks;
+    private final TransferRecordRepository    repository;
+    private final TransferService             transferService;
+    private final TransactionTemplate         tx;
+    private final Duration                    window;
+
+    private final CircuitBreaker cb;
+    private final RateLimiter    rateLimiter;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("fallback-redrive").daemon().factory());
+    private final AtomicBoolean   running = new AtomicBoolean();
+
+    public FallbackReconciler(SimulatedDownstreamClient client,
+                              FallbackPageRangeRepository fallbacks,
+                              TransferRecordRepository repository,
+                              TransferService transferService,
+                              PlatformTransactionManager transactionManager,
+                              TransferProperties properties,
+                              CircuitBreakerRegistry cbRegistry,
+                              RateLimiterRegistry rlRegistry) {
+        this.client          = client;
+        this.fallbacks       = fallbacks;
+        this.repository      = repository;
+        this.transferService = transferService;
+        this.tx              = new TransactionTemplate(transactionManager);
+        this.window          = properties.redriveWindow();
+        this.cb              = cbRegistry.circuitBreaker("downstream");
+        this.rateLimiter     = rlRegistry.rateLimiter("downstream");
+
+        cb.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                trigger();
+            }
+        });
+    }
+
+    /** Starts a re-drive in the background unless one is already running. */
+    public void trigger() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            worker.execute(() -> {
+                try {
+                    redriveRecent();
+                } catch (RuntimeException e) {
+                    log.error("Fallback re-drive aborted: {}", e.getMessage(), e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.set(false); // shutting down
+        }
+    }
+
+    /** Re-drives every recent ledger range. Returns the number of pages recovered. */
+    int redriveRecent() {
+        List<FallbackPageRange> ranges = fallbacks.findByRecordedAtAfterOrderByIdAsc(Instant.now().minus(window));
+        if (ranges.isEmpty()) {
+            return 0;
+        }
+        log.info("Circuit closed — re-driving {} fallback range(s)", ranges.size());
+        int recovered = 0;
+        for (FallbackPageRange listed : ranges) {
+            String batchId = listed.getBatchId();
+            while (true) {
+                if (cb.getState() != CircuitBreaker.State.CLOSED || Thread.currentThread().isInterrupted()) {
+                    log.info("Fallback re-drive paused after {} page(s) — circuit is {}", recovered, cb.getState());
+                    return recovered;
+                }
+                if (!transferService.claim(batchId, this)) {
+                    break; // transferring, resuming or queued for resume
+                }
+                try {
+                    // The listed copy may be stale: a resume can have deleted the range since
+                    FallbackPageRange range = fallbacks.findById(listed.getId()).orElse(null);
+                    if (range == null || range.getPageCount() == 0 || !redrivePage(range)) {
+                        break;
+                    }
+                } finally {
+                    transferService.release(batchId, this);
+                }
+                recovered++;
+            }
+        }
+        log.info("Fallback re-drive finished — {} page(s) recovered", recovered);
+        return recovered;
+    }
+
+    /**
+     * Fetches the first page of the range and commits it. Returns false if the fetch failed.
+     * The caller holds the batch's claim for the whole call.
+     */
+    private boolean redrivePage(FallbackPageRange range) {
+        int page = range.getFirstPage();
+        List<RecordDto> records;
+        try {
+            records = fetch(page, range.getPageSize());
+        } catch (CallNotPermittedException e) {
+            return false; // breaker opened again; the outer loop sees the new state
+        } catch (RuntimeException e) {
+            log.warn("Re-drive of batch {} page {} failed: {}", range.getBatchId(), page, e.getMessage());
+            return false;
+        }
+
+        Instant transferredAt = Instant.now();
+        List<TransferRecord> entities = records.stream()
+                .map(r -> TransferService.toRecord(range.getBatchId(), page, r, transferredAt))
+                .toList();
+        range.setFirstPage(page + 1);
+        range.setPageCount(range.getPageCount() - 1);
+        tx.executeWithoutResult(status -> {
+            repository.saveAll(entities);
+            if (range.getPageCount() == 0) {
+                fallbacks.delete(range);
+            } else {
+                fallbacks.save(range);
+            }
+        });
+        log.debug("Re-drove batch {} page {} ({} records)", range.getBatchId(), page, entities.size());
+        return true;
+    }
+
+    /** One downstream call under the shared rate limiter and circuit breaker. */
+    private List<RecordDto> fetch(int page, int pageSize) {
+        // acquirePermission waits up to the limiter's timeout; keep waiting for our turn
+        while (!rateLimiter.acquirePermission()) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting for the rate limiter");
+            }
+        }
+        return cb.executeSupplier(() -> client.fetchPage(page, pageSize));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+}
@@ -0,0 +1,11 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import java.util.NoSuchElementException;
+
+/** Thrown when a transfer job id is unknown or its job has been evicted from the history. */
+public class JobNotFoundException extends NoSuchElementException {
+
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
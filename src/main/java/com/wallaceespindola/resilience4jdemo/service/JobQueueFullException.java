@@ -0,0 +1,11 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/** Thrown when a transfer job cannot be scheduled because every job thread is busy and the queue is full. */
+public class JobQueueFullException extends RejectedExecutionException {
+
+    public JobQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,193 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.dto.MetadataEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Persistent L2 tier of the metadata cache: an append-only key/value file mapped into memory.
+ *
+ * <p>Each record is {@code [keyLen:int][valueLen:int][loadedAt:long][key][value]} (UTF-8).
+ * The key length is written last, so a record torn by a crash reads as the end of the file.
+ * A later record for the same key supersedes an earlier one. When the file is full, the live
+ * records are rewritten into a fresh file of the same size and the write is retried.
+ *
+ * <p>All live entries are held in an in-memory index built by one sequential scan when the
+ * file is opened; reads never touch the file. A store created with {@link #none()} keeps
+ * nothing, so callers need no enabled-check of their own.
+ */
+@Slf4j
+public class MetadataFileStore implements AutoCloseable {
+
+    private static final int HEADER = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path path;
+    private final int  capacity;
+    private final Map<String, MetadataEntry> index = new ConcurrentHashMap<>();
+
+    private FileChannel      channel;
+    private MappedByteBuffer buffer;
+    private int              end;
+
+    private MetadataFileStore(Path path, int capacity) {
+        this.path     = path;
+        this.capacity = capacity;
+    }
+
+    /** A store that keeps nothing. */
+    public static MetadataFileStore none() {
+        return new MetadataFileStore(null, 0);
+    }
+
+    /** Opens (or creates) the file at {@code path}, sized to {@code capacity} bytes, and indexes it. */
+    public static MetadataFileStore open(Path path, int capacity) {
+        MetadataFileStore store = new MetadataFileStore(path, capacity);
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            store.map();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open metadata store " + path, e);
+        }
+        store.scan();
+        log.info("Metadata L2 store {} opened: {} keys, {}/{} bytes used",
+                path, store.index.size(), store.end, capacity);
+        return store;
+    }
+
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    public MetadataEntry get(String key) {
+        return index.get(key);
+    }
+
+    /** Every live entry, for rebuilding L1 at startup. */
+    public Map<String, MetadataEntry> entries() {
+        return Collections.unmodifiableMap(index);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /** Forgets every entry; the used part of the file is zeroed so old records cannot reappear. */
+    public synchronized void clear() {
+        index.clear();
+        if (buffer != null) {
+            for (int i = 0; i < end; i++) {
+                buffer.put(i, (byte) 0);
+            }
+            end = 0;
+        }
+    }
+
+    /** Appends {@code entry} for {@code key}; an entry too large even for an empty file is dropped. */
+    public synchronized void put(String key, MetadataEntry entry) {
+        if (buffer == null) {
+            return;
+        }
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        byte[] v = entry.value().getBytes(StandardCharsets.UTF_8);
+        int length = HEADER + k.length + v.length;
+        if (end + length > capacity) {
+            compact();
+            if (end + length > capacity) {
+                log.warn("Metadata L2 store full, not persisting {}", key);
+                return;
+            }
+        }
+        append(k, v, entry.loadedAt());
+        index.put(key, entry);
+    }
+
+    private void append(byte[] k, byte[] v, Instant loadedAt) {
+        buffer.putInt(end + Integer.BYTES, v.length);
+        buffer.putLong(end + 2 * Integer.BYTES, loadedAt.toEpochMilli());
+        buffer.put(end + HEADER, k);
+        buffer.put(end + HEADER + k.length, v);
+        buffer.putInt(end, k.length); // last: marks the record complete
+        end += HEADER + k.length + v.length;
+    }
+
+    /** Rewrites only the latest record of every key into a fresh file and swaps it in. */
+    private void compact() {
+        List<Map.Entry<String, MetadataEntry>> live = new ArrayList<>(index.entrySet());
+        Path tmp = path.resolveSibling(path.getFileName() + ".compact");
+        try {
+            close();
+            Files.deleteIfExists(tmp);
+            Files.move(path, tmp, StandardCopyOption.REPLACE_EXISTING);
+            map();
+            for (Map.Entry<String, MetadataEntry> e : live) {
+                byte[] k = e.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] v = e.getValue().value().getBytes(StandardCharsets.UTF_8);
+                if (end + HEADER + k.length + v.length <= capacity) {
+                    append(k, v, e.getValue().loadedAt());
+                } else {
+                    index.remove(e.getKey());
+                }
+            }
+            Files.deleteIfExists(tmp);
+            log.debug("Metadata L2 store compacted to {} bytes", end);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact metadata store " + path, e);
+        }
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(path, CREATE, READ, WRITE);
+        buffer  = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        end     = 0;
+    }
+
+    private void scan() {
+        int pos = 0;
+        while (pos + HEADER <= capacity) {
+            int keyLen   = buffer.getInt(pos);
+            int valueLen = buffer.getInt(pos + Integer.BYTES);
+            if (keyLen <= 0 || valueLen < 0 || (long) pos + HEADER + keyLen + valueLen > capacity) {
+                break;
+            }
+            Instant loadedAt = Instant.ofEpochMilli(buffer.getLong(pos + 2 * Integer.BYTES));
+            byte[] k = new byte[keyLen];
+            byte[] v = new byte[valueLen];
+            buffer.get(pos + HEADER, k);
+            buffer.get(pos + HEADER + keyLen, v);
+            String key = new String(k, StandardCharsets.UTF_8);
+            index.put(key, new MetadataEntry(new String(v, StandardCharsets.UTF_8), loadedAt));
+            pos += HEADER + keyLen + valueLen;
+        }
+        end = pos;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.RateLimitTuningProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RateLimitDecision;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Self-tuning mode for the {@code downstream} RateLimiter.
+ *
+ * <p>Every {@code rate-limit-tuning.adjust-interval} the tuner reads the {@code downstream}
+ * CircuitBreaker's failure rate and slow-call rate and moves {@code limitForPeriod} within
+ * {@code [floor, ceiling]}:
+ * <ul>
+ *   <li>circuit OPEN → straight to the floor</li>
+ *   <li>failure or slow-call rate at/above its threshold → multiply by {@code backoff-ratio}</li>
+ *   <li>no call recorded since the previous tick, too few calls for a reading, or circuit
+ *       HALF_OPEN → hold</li>
+ *   <li>otherwise → add {@code increase-step}</li>
+ * </ul>
+ * The rates come from the breaker's sliding window, which keeps its last reading while the
+ * downstream sits idle; without the new-calls check an idle but once-healthy window would
+ * keep raising the limit on stale data.
+ *
+ * <p>The change is applied with {@link RateLimiter#changeLimitForPeriod}, which takes effect
+ * from the next refresh period. The last decision and the recent adjustments are reported
+ * by {@link ResilienceMetricsService}.
+ */
+@Service
+@Slf4j
+public class RateLimitTuner {
+
+    private final RateLimiter               rateLimiter;
+    private final CircuitBreaker            cb;
+    private final RateLimitTuningProperties properties;
+
+    private final Deque<RateLimitDecision> adjustments = new ArrayDeque<>();
+    private volatile RateLimitDecision     lastDecision;
+
+    // Calls the breaker recorded, and the count at the previous tick
+    private final LongAdder callsRecorded = new LongAdder();
+    private long            callsAtLastTick;
+
+    private final ScheduledExecutorService ticker;
+
+    public RateLimitTuner(RateLimiterRegistry rlRegistry,
+                          CircuitBreakerRegistry cbRegistry,
+                          RateLimitTuningProperties properties) {
+        this.rateLimiter = rlRegistry.rateLimiter("downstream");
+        this.cb          = cbRegistry.circuitBreaker("downstream");
+        this.properties  = properties;
+
+        if (properties.enabled()) {
+            cb.getEventPublisher()
+                    .onSuccess(event -> callsRecorded.increment())
+                    .onError(event -> callsRecorded.increment());
+            long intervalMs = properties.adjustInterval().toMillis();
+            ticker = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().name("rate-limit-tuner").daemon().factory());
+            ticker.scheduleAtFixedRate(this::tuneSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            ticker = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public int currentLimit() {
+        return rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+    }
+
+    public RateLimitTuningProperties properties() {
+        return properties;
+    }
+
+    /** Most recent evaluation, or null before the first tick. */
+    public RateLimitDecision lastDecision() {
+        return lastDecision;
+    }
+
+    /** Recent decisions that changed the limit, oldest first. */
+    public List<RateLimitDecision> recentAdjustments() {
+        synchronized (adjustments) {
+            return List.copyOf(adjustments);
+        }
+    }
+
+    private void tuneSafely() {
+        try {
+            tune();
+        } catch (RuntimeException e) {
+            log.error("Rate-limit tuning failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /** One feedback step. */
+    synchronized RateLimitDecision tune() {
+        long calls    = callsRecorded.sum();
+        long newCalls = calls - callsAtLastTick;
+        callsAtLastTick = calls;
+
+        CircuitBreaker.State   state   = cb.getState();
+        CircuitBreaker.Metrics metrics = cb.getMetrics();
+        float failureRate  = metrics.getFailureRate();
+        float slowCallRate = metrics.getSlowCallRate();
+        int   from         = currentLimit();
+
+        int    to;
+        String reason;
+        if (state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN) {
+            to     = properties.floor();
+            reason = "circuit " + state;
+        } else if (newCalls == 0) {
+            to     = from;
+            reason = "no calls since the last tick";
+        } else if (failureRate >= properties.failureRateThreshold()) {
+            to     = backOff(from);
+            reason = "failure rate %.0f%% ≥ %.0f%%".formatted(failureRate, properties.failureRateThreshold());
+        } else if (slowCallRate >= properties.slowCallRateThreshold()) {
+            to     = backOff(from);
+            reason = "slow-call rate %.0f%% ≥ %.0f%%".formatted(slowCallRate, properties.slowCallRateThreshold());
+        } else if (failureRate < 0 || slowCallRate < 0) {
+            to     = from;
+            reason = "not enough calls for a reading";
+        } else if (state == CircuitBreaker.State.HALF_OPEN) {
+            to     = from;
+            reason = "circuit HALF_OPEN";
+        } else {
+            to     = Math.min(properties.ceiling(), from + properties.increaseStep());
+            reason = "healthy";
+        }
+
+        String action = to > from ? "INCREASE" : to < from ? "DECREASE" : "HOLD";
+        RateLimitDecision decision = new RateLimitDecision(action, from, to, state.name(),
+                failureRate, slowCallRate, reason, Instant.now().toString());
+        lastDecision = decision;
+        if (to != from) {
+            rateLimiter.changeLimitForPeriod(to);
+            synchronized (adjustments) {
+                adjustments.addLast(decision);
+                while (adjustments.size() > properties.history()) {
+                    adjustments.removeFirst();
+                }
+            }
+            log.info("Rate limit {} {} → {} ({})", action, from, to, reason);
+        }
+        return decision;
+    }
+
+    private int backOff(int limit) {
+        return Math.max(properties.floor(), (int) (limit * properties.backoffRatio()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+}
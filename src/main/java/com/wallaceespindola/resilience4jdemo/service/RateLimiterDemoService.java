@@ -1,6 +1,6 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
-import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiter;
@@ -18,17 +18,21 @@ import java.util.function.Supplier;
  *
  * <p>Configured to allow only 5 calls per second. Clicking "Spam 20 requests"
  * shows the first 5 succeeding and the rest being rejected immediately.
+ *
+ * <p>With {@code coalescing.enabled=true} identical calls arriving concurrently share one
+ * permit and one downstream call. Coalescing happens once, around the rate-limited call;
+ * inside it the downstream is called without coalescing.
  */
 @Service
 @Slf4j
 public class RateLimiterDemoService {
 
     private final RateLimiter              rateLimiter;
-    private final SimulatedDownstreamClient client;
+    private final CoalescingDownstreamClient client;
     private final CircuitBreakerRegistry   cbRegistry;
 
     public RateLimiterDemoService(RateLimiterRegistry registry,
-                                  SimulatedDownstreamClient client,
+                                  CoalescingDownstreamClient client,
                                   CircuitBreakerRegistry cbRegistry) {
         this.rateLimiter = registry.rateLimiter("downstream");
         this.client      = client;
@@ -40,16 +44,16 @@ public class RateLimiterDemoService {
         long start   = System.currentTimeMillis();
         String cbState = cbRegistry.circuitBreaker("downstream").getState().name();
 
-        Supplier<DemoCallResult> decorated = RateLimiter.decorateSupplier(rateLimiter, () -> {
-            client.fetchPage(0, 1);
-            long elapsed = System.currentTimeMillis() - start;
-            return DemoCallResult.success("RateLimiter",
-                    "Permitted (available=%d)".formatted(rateLimiter.getMetrics().getAvailablePermissions()),
-                    1, elapsed, cbState);
+        Supplier<Integer> decorated = RateLimiter.decorateSupplier(rateLimiter, () -> {
+            client.getDelegate().fetchPage(0, 1);
+            return rateLimiter.getMetrics().getAvailablePermissions();
         });
 
         try {
-            return decorated.get();
+            int available = client.coalesce("rate-limiter:fetchPage:0:1", decorated);
+            long elapsed = System.currentTimeMillis() - start;
+            return DemoCallResult.success("RateLimiter",
+                    "Permitted (available=%d)".formatted(available), 1, elapsed, cbState);
         } catch (RequestNotPermitted e) {
             long elapsed = System.currentTimeMillis() - start;
             log.warn("Rate limited: {}", e.getMessage());
@@ -1,9 +1,13 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.HedgingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.config.CacheConfig;
 import com.wallaceespindola.resilience4jdemo.dto.ResilienceMetricsDto;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiter;
@@ -20,17 +24,29 @@ public class ResilienceMetricsService {
     private final Retry          retry;
     private final RateLimiter    rateLimiter;
     private final Bulkhead       bulkhead;
+    private final ThreadPoolBulkhead threadPoolBulkhead;
+    private final RateLimitTuner rateLimitTuner;
+    private final HedgingDownstreamClient hedgingClient;
+    private final CoalescingDownstreamClient coalescingClient;
     private final CacheConfig    cacheConfig;
 
     public ResilienceMetricsService(CircuitBreakerRegistry cbRegistry,
                                     RetryRegistry retryRegistry,
                                     RateLimiterRegistry rlRegistry,
                                     BulkheadRegistry bhRegistry,
+                                    ThreadPoolBulkheadRegistry tpbRegistry,
+                                    RateLimitTuner rateLimitTuner,
+                                    HedgingDownstreamClient hedgingClient,
+                                    CoalescingDownstreamClient coalescingClient,
                                     CacheConfig cacheConfig) {
         this.cb          = cbRegistry.circuitBreaker("downstream");
         this.retry       = retryRegistry.retry("downstream");
         this.rateLimiter = rlRegistry.rateLimiter("downstream");
         this.bulkhead    = bhRegistry.bulkhead("downstream");
+        this.threadPoolBulkhead = tpbRegistry.bulkhead("transfer");
+        this.rateLimitTuner = rateLimitTuner;
+        this.hedgingClient  = hedgingClient;
+        this.coalescingClient = coalescingClient;
         this.cacheConfig = cacheConfig;
     }
 
@@ -39,6 +55,7 @@ public class ResilienceMetricsService {
         Retry.Metrics rm           = retry.getMetrics();
         RateLimiter.Metrics rlm    = rateLimiter.getMetrics();
         Bulkhead.Metrics bhm       = bulkhead.getMetrics();
+        ThreadPoolBulkhead.Metrics tpm = threadPoolBulkhead.getMetrics();
 
         return ResilienceMetricsDto.builder()
                 .circuitBreaker(new ResilienceMetricsDto.CircuitBreakerMetrics(
@@ -56,13 +73,48 @@ public class ResilienceMetricsService {
                 .rateLimiter(new ResilienceMetricsDto.RateLimiterMetrics(
                         rlm.getAvailablePermissions(),
                         rlm.getNumberOfWaitingThreads()))
+                .rateLimitTuning(new ResilienceMetricsDto.RateLimitTuningMetrics(
+                        rateLimitTuner.isEnabled(),
+                        rateLimitTuner.currentLimit(),
+                        rateLimitTuner.properties().floor(),
+                        rateLimitTuner.properties().ceiling(),
+                        rateLimitTuner.lastDecision(),
+                        rateLimitTuner.recentAdjustments()))
                 .bulkhead(new ResilienceMetricsDto.BulkheadMetrics(
                         bhm.getAvailableConcurrentCalls(),
                         bhm.getMaxAllowedConcurrentCalls()))
+                .threadPoolBulkhead(new ResilienceMetricsDto.ThreadPoolBulkheadMetrics(
+                        tpm.getActiveThreadCount(),
+                        tpm.getThreadPoolSize(),
+                        tpm.getCoreThreadPoolSize(),
+                        tpm.getMaximumThreadPoolSize(),
+                        tpm.getQueueDepth(),
+                        tpm.getQueueCapacity()))
+                .hedging(new ResilienceMetricsDto.HedgingMetrics(
+                        hedgingClient.isEnabled(),
+                        hedgingClient.currentDelayMs(),
+                        hedgingClient.getRequests(),
+                        hedgingClient.getHedged(),
+                        hedgingClient.getHedgeWins(),
+                        hedgingClient.getBudgetExhausted(),
+                        hedgingClient.getCancelled()))
+                .coalescing(new ResilienceMetricsDto.CoalescingMetrics(
+                        coalescingClient.isEnabled(),
+                        coalescingClient.getCalls(),
+                        coalescingClient.getCoalesced(),
+                        coalescingClient.getInFlight()))
                 .cache(new ResilienceMetricsDto.CacheMetrics(
-                        cacheConfig.cacheHits.get(),
-                        cacheConfig.cacheMisses.get(),
-                        cacheConfig.cacheHits.get() + cacheConfig.cacheMisses.get()))
+                        cacheConfig.cacheHits.sum(),
+                        cacheConfig.cacheMisses.sum(),
+                        cacheConfig.cacheStaleHits.sum(),
+                        cacheConfig.cacheRefreshFailures.sum(),
+                        cacheConfig.cacheRefreshAheads.sum(),
+                        cacheConfig.cacheL2Hits.sum(),
+                        cacheConfig.cacheNegativeHits.sum(),
+                        cacheConfig.cacheExpirations.sum(),
+                        cacheConfig.cacheSizeEvictions.sum(),
+                        cacheConfig.hitRatio.ratio(),
+                        cacheConfig.entryCount()))
                 .build();
     }
 }
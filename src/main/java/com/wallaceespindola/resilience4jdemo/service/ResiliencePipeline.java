@@ -0,0 +1,275 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties.Layer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * A resilience decorator chain compiled once and reused for every call.
+ *
+ * <p>{@code Retry.decorateCallable(retry, () -> fetch(page))} and friends build a fresh chain of
+ * lambdas per call, because the call's arguments are captured by the innermost one. Here the
+ * arguments travel as the {@code input} of {@link #execute}, so the chain of {@link Step}s is
+ * built once, in the configured {@link Layer} order, and each layer talks to its Resilience4J
+ * instance directly (acquire permission, run, record outcome) exactly as the R4J decorators do.
+ * That saves rebuilding the lambda chain, not every allocation: each call still allocates a
+ * {@code Retry.Context} under the Retry layer and a {@link FutureTask} under the TimeLimiter,
+ * besides whatever the protected call and its exceptions allocate.
+ *
+ * <p>{@link Layer#BULKHEAD} takes either a plain semaphore {@link Bulkhead} or an
+ * {@link AdaptiveConcurrencyLimiter}, which also feeds the call's latency into its limit.
+ *
+ * <p>{@link Layer#TIME_LIMITER} runs every layer inside it on the given thread-pool bulkhead and
+ * waits at most the TimeLimiter's timeout for it. The work is handed to the pool as a
+ * {@link FutureTask}, so with {@code cancelRunningFuture} a timed-out call really interrupts its
+ * worker thread (cancelling the pool's {@code CompletableFuture} would not). A caller that is
+ * interrupted while waiting cancels the work the same way. Without that layer the call runs on
+ * the calling thread.
+ *
+ * <pre>{@code
+ * ResiliencePipeline<Integer, Page> pipeline = ResiliencePipeline.<Integer, Page>builder("downstream")
+ *         .circuitBreaker(cb)
+ *         .retry(retry)
+ *         .build(List.of(Layer.CIRCUIT_BREAKER, Layer.RETRY), client::fetchPage);
+ * Page page = pipeline.execute(7);
+ * }</pre>
+ *
+ * @param <I> per-call input handed down to the innermost step
+ * @param <O> result of the call
+ */
+public final class ResiliencePipeline<I, O> {
+
+    /** One stage of the pipeline; the innermost one is the protected call itself. */
+    @FunctionalInterface
+    public interface Step<I, O> {
+        O call(I input) throws Exception;
+    }
+
+    /** Told about every attempt the Retry layer makes (1-based), with the call's input. */
+    @FunctionalInterface
+    public interface AttemptListener<I> {
+        void onAttempt(I input, int attempt);
+    }
+
+    private final String      name;
+    private final List<Layer> order;
+    private final Step<I, O>  chain;
+
+    private ResiliencePipeline(String name, List<Layer> order, Step<I, O> chain) {
+        this.name  = name;
+        this.order = order;
+        this.chain = chain;
+    }
+
+    public static <I, O> Builder<I, O> builder(String name) {
+        return new Builder<>(name);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Layers, outermost first. */
+    public List<Layer> order() {
+        return order;
+    }
+
+    public O execute(I input) throws Exception {
+        return chain.call(input);
+    }
+
+    public static final class Builder<I, O> {
+
+        private final String name;
+        private RateLimiter                rateLimiter;
+        private UnaryOperator<Step<I, O>>  bulkhead;
+        private CircuitBreaker             circuitBreaker;
+        private Retry                      retry;
+        private AttemptListener<I>         attemptListener = (input, attempt) -> {};
+        private TimeLimiter                timeLimiter;
+        private ThreadPoolBulkhead         pool;
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder<I, O> rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        public Builder<I, O> bulkhead(Bulkhead bulkhead) {
+            this.bulkhead = next -> bulkheaded(bulkhead, next);
+            return this;
+        }
+
+        /** Like {@link #bulkhead(Bulkhead)}, with the limit adapted from the calls' latency. */
+        public Builder<I, O> bulkhead(AdaptiveConcurrencyLimiter limiter) {
+            this.bulkhead = next -> limited(limiter, next);
+            return this;
+        }
+
+        public Builder<I, O> circuitBreaker(CircuitBreaker circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        public Builder<I, O> retry(Retry retry) {
+            this.retry = retry;
+            return this;
+        }
+
+        public Builder<I, O> retry(Retry retry, AttemptListener<I> attemptListener) {
+            this.retry           = retry;
+            this.attemptListener = attemptListener;
+            return this;
+        }
+
+        /** The TimeLimiter layer runs everything inside it on {@code pool}. */
+        public Builder<I, O> timeLimiter(TimeLimiter timeLimiter, ThreadPoolBulkhead pool) {
+            this.timeLimiter = timeLimiter;
+            this.pool        = pool;
+            return this;
+        }
+
+        /**
+         * Compiles {@code call} wrapped in {@code order} (outermost first).
+         *
+         * @throws IllegalArgumentException if a layer is listed twice
+         * @throws IllegalStateException    if a listed layer has no instance set on this builder
+         */
+        public ResiliencePipeline<I, O> build(List<Layer> order, Step<I, O> call) {
+            if (order.stream().distinct().count() != order.size())
+                throw new IllegalArgumentException("Pipeline " + name + " lists a layer twice: " + order);
+            Step<I, O> chain = call;
+            for (int i = order.size() - 1; i >= 0; i--) {
+                chain = wrap(order.get(i), chain);
+            }
+            return new ResiliencePipeline<>(name, List.copyOf(order), chain);
+        }
+
+        private Step<I, O> wrap(Layer layer, Step<I, O> next) {
+            return switch (layer) {
+                case RATE_LIMITER    -> rateLimited(require(rateLimiter, layer), next);
+                case BULKHEAD        -> require(bulkhead, layer).apply(next);
+                case CIRCUIT_BREAKER -> circuitBroken(require(circuitBreaker, layer), next);
+                case RETRY           -> retried(require(retry, layer), attemptListener, next);
+                case TIME_LIMITER    -> timeLimited(require(timeLimiter, layer), require(pool, layer), next);
+            };
+        }
+
+        private <T> T require(T instance, Layer layer) {
+            if (instance == null)
+                throw new IllegalStateException("Pipeline " + name + " lists " + layer + " but none was configured");
+            return instance;
+        }
+    }
+
+    private static <I, O> Step<I, O> rateLimited(RateLimiter rateLimiter, Step<I, O> next) {
+        return input -> {
+            RateLimiter.waitForPermission(rateLimiter);
+            try {
+                O result = next.call(input);
+                rateLimiter.onResult(result);
+                return result;
+            } catch (Exception e) {
+                rateLimiter.onError(e);
+                throw e;
+            }
+        };
+    }
+
+    private static <I, O> Step<I, O> bulkheaded(Bulkhead bulkhead, Step<I, O> next) {
+        return input -> {
+            bulkhead.acquirePermission();
+            try {
+                return next.call(input);
+            } finally {
+                bulkhead.onComplete();
+            }
+        };
+    }
+
+    private static <I, O> Step<I, O> limited(AdaptiveConcurrencyLimiter limiter, Step<I, O> next) {
+        return input -> limiter.execute(next, input);
+    }
+
+    private static <I, O> Step<I, O> circuitBroken(CircuitBreaker cb, Step<I, O> next) {
+        return input -> {
+            cb.acquirePermission();
+            long start = cb.getCurrentTimestamp();
+            try {
+                O result = next.call(input);
+                cb.onResult(cb.getCurrentTimestamp() - start, cb.getTimestampUnit(), result);
+                return result;
+            } catch (Exception e) {
+                cb.onError(cb.getCurrentTimestamp() - start, cb.getTimestampUnit(), e);
+                throw e;
+            }
+        };
+    }
+
+    private static <I, O> Step<I, O> retried(Retry retry, AttemptListener<I> listener, Step<I, O> next) {
+        return input -> {
+            Retry.Context<O> context = retry.context();
+            int attempt = 0;
+            while (true) {
+                listener.onAttempt(input, ++attempt);
+                try {
+                    O result = next.call(input);
+                    if (!context.onResult(result)) {
+                        context.onComplete();
+                        return result;
+                    }
+                } catch (InterruptedException e) {
+                    throw e; // the call was cancelled: another attempt would only ignore that
+                } catch (Exception e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e; // cancelled, but reported as a RuntimeException by the layer below
+                    }
+                    context.onError(e); // rethrows once attempts are exhausted or e is not retryable
+                }
+            }
+        };
+    }
+
+    private static <I, O> Step<I, O> timeLimited(TimeLimiter timeLimiter, ThreadPoolBulkhead pool, Step<I, O> next) {
+        long timeoutNanos = timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toNanos();
+        boolean cancel    = timeLimiter.getTimeLimiterConfig().shouldCancelRunningFuture();
+        return input -> {
+            FutureTask<O> task = new FutureTask<>(() -> next.call(input));
+            pool.executeRunnable(task);
+            try {
+                O result = task.get(timeoutNanos, TimeUnit.NANOSECONDS);
+                timeLimiter.onSuccess();
+                return result;
+            } catch (TimeoutException e) {
+                TimeoutException timeout = TimeLimiter.createdTimeoutExceptionWithName(timeLimiter.getName(), e);
+                timeLimiter.onError(timeout);
+                if (cancel) {
+                    task.cancel(true);
+                }
+                throw timeout;
+            } catch (InterruptedException e) {
+                task.cancel(true); // nobody is left to take the result
+                throw e;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() == null ? e : e.getCause();
+                timeLimiter.onError(cause);
+                if (cause instanceof Error error) throw error;
+                throw (Exception) cause;
+            }
+        };
+    }
+}
@@ -2,12 +2,14 @@ package com.wallaceespindola.resilience4jdemo.service;
 
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
+import com.wallaceespindola.resilience4jdemo.util.RetryAttempts;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -37,28 +39,28 @@ public class RetryDemoService {
         long         start    = System.currentTimeMillis();
         AtomicInteger attempts = new AtomicInteger(0);
 
-        // Track attempts via event listener (scoped to this call)
-        var listener = retry.getEventPublisher().onRetry(e -> {
-            attempts.incrementAndGet();
-            log.info("Retry attempt #{} after: {}", e.getNumberOfRetryAttempts(), e.getLastThrowable().getMessage());
+        // Count attempts inside the Retry decorator — scoped to this call, nothing left behind
+        Callable<Object> counted = RetryAttempts.onEachAttempt(() -> {
+            client.fetchPage(0, 1);
+            return null;
+        }, attempt -> {
+            attempts.set(attempt);
+            if (attempt > 1) log.info("Retry attempt #{}", attempt - 1);
         });
 
         String cbState = cbRegistry.circuitBreaker("downstream").getState().name();
         try {
-            Retry.decorateCallable(retry, () -> {
-                client.fetchPage(0, 1);
-                return null;
-            }).call();
+            Retry.decorateCallable(retry, counted).call();
 
             long elapsed = System.currentTimeMillis() - start;
-            int  total   = attempts.get() + 1; // attempts = retries, total includes first try
+            int  total   = attempts.get();
             return DemoCallResult.success("Retry",
                     "Succeeded after %d attempt(s)".formatted(total),
                     total, elapsed, cbState);
 
         } catch (Exception e) {
             long elapsed = System.currentTimeMillis() - start;
-            int  total   = retry.getRetryConfig().getMaxAttempts();
+            int  total   = attempts.get();
             log.warn("All {} retry attempts exhausted: {}", total, e.getMessage());
             return DemoCallResult.fallback("Retry",
                     "All %d attempts failed: %s".formatted(total, e.getMessage()),
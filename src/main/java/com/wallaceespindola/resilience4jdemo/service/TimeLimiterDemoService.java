@@ -2,6 +2,8 @@ package com.wallaceespindola.resilience4jdemo.service;
 
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
@@ -17,6 +19,12 @@ import java.util.function.Supplier;
  * <p>The limiter is configured to cancel futures after 1500 ms.
  * Enable "Force Timeout" in fault injection (adds 3000 ms delay) to
  * trigger a TimeoutException and observe the fallback.
+ *
+ * <p>The call runs on the {@code transfer} thread-pool bulkhead, the same bounded pool the
+ * bulk transfer uses, so a slow downstream can only tie up that pool's threads. It is handed
+ * over as a {@link FutureTask} rather than through {@code executeSupplier}: cancelling a
+ * {@code CompletableFuture} does not interrupt the thread running it, whereas cancelling the
+ * task does, so a timed-out call gives its pool thread back instead of running to completion.
  */
 @Service
 @Slf4j
@@ -25,15 +33,16 @@ public class TimeLimiterDemoService {
     private final TimeLimiter              timeLimiter;
     private final SimulatedDownstreamClient client;
     private final CircuitBreakerRegistry   cbRegistry;
-    private final ScheduledExecutorService scheduler =
-            Executors.newScheduledThreadPool(2);
+    private final ThreadPoolBulkhead       pool;
 
     public TimeLimiterDemoService(TimeLimiterRegistry registry,
                                   SimulatedDownstreamClient client,
-                                  CircuitBreakerRegistry cbRegistry) {
+                                  CircuitBreakerRegistry cbRegistry,
+                                  ThreadPoolBulkheadRegistry poolRegistry) {
         this.timeLimiter = registry.timeLimiter("downstream");
         this.client      = client;
         this.cbRegistry  = cbRegistry;
+        this.pool        = poolRegistry.bulkhead("transfer");
     }
 
     /** Makes an async call wrapped by the TimeLimiter. */
@@ -42,11 +51,14 @@ public class TimeLimiterDemoService {
         String cbState = cbRegistry.circuitBreaker("downstream").getState().name();
         long   limitMs = timeLimiter.getTimeLimiterConfig().getTimeoutDuration().toMillis();
 
-        Supplier<CompletableFuture<String>> futureSupplier = () ->
-                CompletableFuture.supplyAsync(() -> {
-                    client.fetchPage(0, 1);
-                    return "ok";
-                });
+        Supplier<Future<String>> futureSupplier = () -> {
+            FutureTask<String> task = new FutureTask<>(() -> {
+                client.fetchPage(0, 1);
+                return "ok";
+            });
+            pool.executeRunnable(task);
+            return task;
+        };
 
         try {
             timeLimiter.executeFutureSupplier(futureSupplier);
@@ -0,0 +1,134 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams transfer-job progress to browsers as Server-Sent Events.
+ *
+ * <p>Events are coalesced rather than sent per page: every {@code transfer.event-interval}
+ * each subscription looks at its job and emits one {@code progress} event, but only if a
+ * counter or the job state has changed since the last one. A 100k-page transfer therefore
+ * costs the client a few events per second, not one per page. When the job finishes a
+ * final {@code complete} event carries the summary and the stream is closed.
+ *
+ * <p>Subscriptions share a small ticker pool of {@value #TICKER_THREADS} threads.
+ * {@link SseEmitter#send} writes to the response synchronously, so a client that reads
+ * slowly holds a ticker thread for the length of its write and delays the other
+ * subscriptions on that thread; the pool only bounds how many such writes can stall
+ * everyone. Streams time out after {@link #STREAM_TIMEOUT} so an abandoned connection
+ * releases its ticker task even if no write ever fails; browsers' {@code EventSource}
+ * reconnects on its own.
+ */
+@Service
+@Slf4j
+public class TransferEventService {
+
+    static final int      TICKER_THREADS = 2;
+    static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private final TransferJobService jobService;
+    private final long               intervalMs;
+
+    private final ScheduledExecutorService ticker = Executors.newScheduledThreadPool(TICKER_THREADS,
+            Thread.ofPlatform().name("transfer-events-", 0).daemon().factory());
+
+    public TransferEventService(TransferJobService jobService, TransferProperties properties) {
+        this.jobService = jobService;
+        this.intervalMs = properties.eventInterval().toMillis();
+    }
+
+    /**
+     * Opens an event stream for a job.
+     *
+     * @throws JobNotFoundException if the job id is unknown
+     */
+    public SseEmitter subscribe(String jobId) {
+        TransferJob job = jobService.find(jobId)
+                .orElseThrow(() -> new JobNotFoundException("Unknown transfer job: " + jobId));
+        return subscribe(job, new SseEmitter(STREAM_TIMEOUT.toMillis()));
+    }
+
+    SseEmitter subscribe(TransferJob job, SseEmitter emitter) {
+        ProgressStream stream = new ProgressStream(job, emitter);
+        ScheduledFuture<?> tick = ticker.scheduleAtFixedRate(() -> {
+            if (!stream.publish()) {
+                throw new StreamClosed(); // cancels further runs of this task only
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+        emitter.onCompletion(() -> tick.cancel(false));
+        emitter.onTimeout(() -> tick.cancel(false));
+        emitter.onError(e -> tick.cancel(false));
+        log.debug("SSE subscriber attached: jobId={}", job.id());
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /** One subscriber: remembers what it last sent so unchanged ticks are skipped. */
+    static final class ProgressStream {
+
+        private final TransferJob job;
+        private final SseEmitter  emitter;
+
+        private long             lastActivity = -1;
+        private TransferJob.State lastState;
+
+        ProgressStream(TransferJob job, SseEmitter emitter) {
+            this.job     = job;
+            this.emitter = emitter;
+        }
+
+        /** Emits at most one event. Returns false once the stream is finished or broken. */
+        boolean publish() {
+            TransferJob.State state    = job.getState();
+            long              activity = job.getProgress().activity();
+            try {
+                if (job.isFinished()) {
+                    emitter.send(event("complete", job.toStatus()));
+                    emitter.complete();
+                    return false;
+                }
+                if (activity != lastActivity || state != lastState) {
+                    emitter.send(event("progress", job.toStatus()));
+                    lastActivity = activity;
+                    lastState    = state;
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's error callback cancels the ticker task
+                log.debug("SSE subscriber dropped for job {}: {}", job.id(), e.getMessage());
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        private SseEmitter.SseEventBuilder event(String name, TransferJobStatus status) {
+            return SseEmitter.event()
+                    .id(String.valueOf(status.progress().pagesSucceeded() + status.progress().pagesFailed()))
+                    .name(name)
+                    .data(status);
+        }
+    }
+
+    /** Thrown from a ticker task to stop its periodic schedule once the stream has ended. */
+    private static final class StreamClosed extends RuntimeException {
+        StreamClosed() {
+            super(null, null, false, false);
+        }
+    }
+}
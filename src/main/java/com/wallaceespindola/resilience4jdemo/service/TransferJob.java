@@ -0,0 +1,64 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
+import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * One submitted transfer and its lifecycle. The state fields are written by the job
+ * thread and read by polling requests, hence volatile.
+ */
+@Getter
+class TransferJob {
+
+    enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final TransferProgress progress;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile State   state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String  error;
+    private volatile TransferSummary result;
+
+    TransferJob(TransferProgress progress) {
+        this.progress = progress;
+    }
+
+    String id() {
+        return progress.getBatchId();
+    }
+
+    boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state     = State.RUNNING;
+    }
+
+    void completed(TransferSummary summary) {
+        result     = summary;
+        finishedAt = Instant.now();
+        state      = State.COMPLETED;
+    }
+
+    void failed(Throwable cause) {
+        error      = cause.getMessage();
+        finishedAt = Instant.now();
+        state      = State.FAILED;
+    }
+
+    TransferJobStatus toStatus() {
+        TransferSummary summary = result != null ? result : progress.toSummary();
+        return new TransferJobStatus(id(), state.name(), error,
+                submittedAt.toString(),
+                startedAt  != null ? startedAt.toString()  : null,
+                finishedAt != null ? finishedAt.toString() : null,
+                summary);
+    }
+}
@@ -0,0 +1,131 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs bulk transfers as background jobs so the HTTP request returns immediately.
+ *
+ * <p>Jobs execute on a dedicated, bounded thread pool ({@code transfer.job-threads} workers,
+ * {@code transfer.job-queue-capacity} waiting jobs). When both are full a submission is
+ * rejected with {@link JobQueueFullException}, which the API maps to HTTP 429.
+ *
+ * <p>Each job keeps the {@link TransferProgress} of its transfer, so polling returns the
+ * live counters. The most recent {@code transfer.job-history} jobs are kept in memory.
+ */
+@Service
+@Slf4j
+public class TransferJobService {
+
+    private final TransferService    transferService;
+    private final TransferProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    // Insertion-ordered so the oldest finished jobs are evicted first
+    private final Map<String, TransferJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    public TransferJobService(TransferService transferService, TransferProperties properties) {
+        this.transferService = transferService;
+        this.properties      = properties;
+        this.executor        = new ThreadPoolExecutor(
+                properties.jobThreads(), properties.jobThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                properties.jobQueueCapacity() > 0
+                        ? new ArrayBlockingQueue<>(properties.jobQueueCapacity())
+                        : new SynchronousQueue<>(),
+                Thread.ofPlatform().name("transfer-job-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Submits a transfer and returns straight away with its job id (= batch id).
+     *
+     * @throws JobQueueFullException when every job thread is busy and the queue is full
+     */
+    public TransferJobStatus submit(int totalRecords, int pageSize, int concurrency) {
+        TransferJob job = new TransferJob(transferService.prepare(totalRecords, pageSize, concurrency));
+        log.info("Transfer job submitted: jobId={}, totalRecords={}, pageSize={}",
+                job.id(), totalRecords, pageSize);
+        return schedule(job);
+    }
+
+    /**
+     * Resumes an interrupted batch from its checkpoint as a background job. The job id is
+     * the batch id, so polling and SSE work the same way as for a fresh transfer.
+     *
+     * @throws BatchNotFoundException      if the batch has no checkpoint
+     * @throws BatchConflictException      if the batch is complete or still running
+     * @throws JobQueueFullException when the job pool is saturated
+     */
+    public TransferJobStatus submitResume(String batchId) {
+        TransferJob job = new TransferJob(transferService.prepareResume(batchId));
+        log.info("Transfer resume submitted: jobId={}, fromPage={}", job.id(), job.getProgress().getStartPage());
+        return schedule(job);
+    }
+
+    private TransferJobStatus schedule(TransferJob job) {
+        jobs.put(job.id(), job);
+        try {
+            executor.execute(() -> runJob(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id());
+            transferService.release(job.getProgress()); // a rejected resume must not keep its batch claimed
+            log.warn("Transfer job rejected — {} running, {} queued",
+                    executor.getActiveCount(), executor.getQueue().size());
+            throw new JobQueueFullException("Too many transfer jobs in progress — try again later", e);
+        }
+        evictFinishedJobs();
+        return job.toStatus();
+    }
+
+    /** Current status of a job, or empty if the id is unknown or has been evicted. */
+    public Optional<TransferJobStatus> status(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(TransferJob::toStatus);
+    }
+
+    /** The job itself, for in-package collaborators such as {@link TransferEventService}. */
+    Optional<TransferJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /** Status of every retained job, oldest first. */
+    public List<TransferJobStatus> listJobs() {
+        synchronized (jobs) {
+            return jobs.values().stream().map(TransferJob::toStatus).toList();
+        }
+    }
+
+    private void runJob(TransferJob job) {
+        job.started();
+        try {
+            job.completed(transferService.run(job.getProgress()));
+        } catch (RuntimeException e) {
+            log.error("Transfer job FAILED — jobId={}: {}", job.id(), e.getMessage(), e);
+            job.failed(e);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        synchronized (jobs) {
+            Iterator<TransferJob> it = jobs.values().iterator();
+            int excess = jobs.size() - properties.jobHistory();
+            while (excess > 0 && it.hasNext()) {
+                if (it.next().isFinished()) {
+                    it.remove();
+                    excess--;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,129 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live counters for a single bulk transfer.
+ *
+ * <p>Page fetches and writes complete on several threads at once, so every counter is
+ * atomic. Call {@link #toSummary()} to take an immutable snapshot.
+ *
+ * <p>A resumed transfer starts at {@code startPage}; {@code pagesAttempted} counts only the
+ * pages this run fetches.
+ */
+@Getter
+public class TransferProgress {
+
+    private final String batchId;
+    private final int    totalRequested;
+    private final int    pageSize;
+    private final int    startPage;
+    private final int    pagesAttempted;
+    private final int    concurrency;
+    private final int    writerThreads;
+    private final int    queueCapacity;
+    private final long   startMs = System.currentTimeMillis();
+    @Getter(AccessLevel.NONE)
+    private final CommitWatermark watermark;
+
+    private final AtomicInteger pagesSucceeded    = new AtomicInteger(0);
+    private final AtomicInteger pagesFailed       = new AtomicInteger(0);
+    private final AtomicInteger recordsInserted   = new AtomicInteger(0);
+    private final AtomicInteger retriesTotal      = new AtomicInteger(0);
+    private final AtomicInteger fallbacksUsed     = new AtomicInteger(0);
+    private final AtomicInteger cbRejections      = new AtomicInteger(0);
+    private final AtomicInteger bhRejections      = new AtomicInteger(0);
+    private final AtomicInteger rlRejections      = new AtomicInteger(0);
+    private final AtomicInteger timeoutRejections = new AtomicInteger(0);
+    private final AtomicInteger persistFailures   = new AtomicInteger(0);
+    private final AtomicReference<String> lastPersistError = new AtomicReference<>();
+
+    // ---- Fetch → persist pipeline ----
+    private final AtomicInteger maxQueueDepth       = new AtomicInteger(0);
+    private final AtomicLong    fetchBlockedNanos   = new AtomicLong(0);
+    private final AtomicLong    persistBlockedNanos = new AtomicLong(0);
+
+    public TransferProgress(String batchId, int totalRequested, int pageSize, int startPage,
+                            int pagesAttempted, int concurrency, int writerThreads, int queueCapacity) {
+        this.batchId        = batchId;
+        this.totalRequested = totalRequested;
+        this.pageSize       = pageSize;
+        this.startPage      = startPage;
+        this.pagesAttempted = pagesAttempted;
+        this.watermark      = new CommitWatermark(startPage - 1);
+        this.concurrency    = concurrency;
+        this.writerThreads  = writerThreads;
+        this.queueCapacity  = queueCapacity;
+    }
+
+    /** One past the last page of the whole batch. */
+    public int pagesTotal() {
+        return startPage + pagesAttempted;
+    }
+
+    /** Highest page such that it and every page before it have been committed; -1 if none. */
+    public int lastCommittedPage() {
+        return watermark.get();
+    }
+
+    /** The watermark once {@code pages} are committed, without marking them yet. */
+    int watermarkWith(Collection<Integer> pages) {
+        return watermark.peek(pages);
+    }
+
+    /** Marks pages as committed; returns the watermark afterwards. */
+    int commitPages(Collection<Integer> pages) {
+        return watermark.commit(pages);
+    }
+
+    /** Number of pages that have finished, successfully or via fallback. */
+    public int pagesDone() {
+        return pagesSucceeded.get() + pagesFailed.get();
+    }
+
+    /**
+     * Sum of every monotonic counter. It only grows, so a changed value means something
+     * happened since the last look — cheap change detection for coalescing progress events.
+     */
+    public long activity() {
+        return (long) pagesSucceeded.get() + pagesFailed.get() + recordsInserted.get()
+                + retriesTotal.get() + cbRejections.get() + bhRejections.get()
+                + rlRejections.get() + timeoutRejections.get() + persistFailures.get();
+    }
+
+    public TransferSummary toSummary() {
+        return TransferSummary.builder()
+                .batchId(batchId)
+                .totalRequested(totalRequested)
+                .pagesAttempted(pagesAttempted)
+                .pagesSucceeded(pagesSucceeded.get())
+                .pagesFailed(pagesFailed.get())
+                .recordsInserted(recordsInserted.get())
+                .retriesTotal(retriesTotal.get())
+                .fallbacksUsed(fallbacksUsed.get())
+                .circuitBreakerRejections(cbRejections.get())
+                .bulkheadRejections(bhRejections.get())
+                .rateLimiterRejections(rlRejections.get())
+                .timeoutRejections(timeoutRejections.get())
+                .concurrency(concurrency)
+                .persistFailures(persistFailures.get())
+                .lastPersistError(lastPersistError.get())
+                .writerThreads(writerThreads)
+                .queueCapacity(queueCapacity)
+                .maxQueueDepth(maxQueueDepth.get())
+                .fetchBlockedMs(TimeUnit.NANOSECONDS.toMillis(fetchBlockedNanos.get()))
+                .persistBlockedMs(TimeUnit.NANOSECONDS.toMillis(persistBlockedNanos.get()))
+                .startPage(startPage)
+                .lastCommittedPage(watermark.get())
+                .durationMs(System.currentTimeMillis() - startMs)
+                .build();
+    }
+}
@@ -1,234 +1,647 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
-import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.HedgingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties;
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import com.wallaceespindola.resilience4jdemo.domain.TransferCheckpoint;
 import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
+import com.wallaceespindola.resilience4jdemo.dto.BatchSummary;
 import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
 import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import com.wallaceespindola.resilience4jdemo.repo.FallbackPageRangeRepository;
+import com.wallaceespindola.resilience4jdemo.repo.TransferCheckpointRepository;
 import com.wallaceespindola.resilience4jdemo.repo.TransferRecordRepository;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
-import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.ratelimiter.RateLimiter;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
-import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
-import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.Collections;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Supplier;
 
 /**
  * Orchestrates the bulk-transfer scenario.
  *
- * <p>Each page fetch is wrapped by all six Resilience4J modules:
+ * <p>Each page fetch is wrapped by all six Resilience4J modules (the downstream call itself
+ * runs on the {@code transfer} thread-pool bulkhead). The chain is a {@link ResiliencePipeline}
+ * built once at startup; this is its default order, which {@code resilience-pipeline.order.downstream}
+ * can change:
  * <ol>
  *   <li><b>RateLimiter</b> — limits downstream calls per second</li>
- *   <li><b>Bulkhead</b>    — limits concurrent calls</li>
+ *   <li><b>Bulkhead</b>    — limits concurrent calls (adaptive limit, see {@link AdaptiveConcurrencyLimiter})</li>
  *   <li><b>CircuitBreaker</b> — stops all calls when failure rate is too high</li>
- *   <li><b>TimeLimiter</b>   — cancels calls that take too long</li>
  *   <li><b>Retry</b>         — retries individual page fetches on transient errors</li>
+ *   <li><b>TimeLimiter</b>   — cancels calls that take too long</li>
  * </ol>
  *
- * <p>If all layers fail, a fallback is recorded with placeholder data so the
- * transfer summary accurately reflects exactly what happened.
+ * <p>If all layers fail, the page is recorded in the {@link FallbackPageRange} ledger (one
+ * row per run of consecutive failed pages) so the transfer summary and batch history
+ * reflect exactly what happened without writing placeholder records.
+ *
+ * <p>Pages can be fetched one at a time (the default) or fanned out over several
+ * virtual threads; see {@link #transfer(int, int, int)}.
+ *
+ * <p>Fetching and persisting are two separate stages: fetched pages are handed to a
+ * bounded queue and drained by {@link TransferProperties#writerThreads()} writer threads,
+ * so database latency no longer adds to downstream latency. A full queue blocks the
+ * fetch stage, which is the pipeline's backpressure.
+ *
+ * <p>Writers commit up to {@link TransferProperties#commitChunkPages()} pages per transaction,
+ * together with their fallback ranges and the batch's advanced {@link TransferCheckpoint}.
+ * A chunk that fails to commit is rolled back as a whole and counted; the writer carries on
+ * with the next one. An interrupted batch can be picked up again with {@link #resume(String)},
+ * which only re-fetches pages above the checkpoint.
  */
 @Service
 @Slf4j
 public class TransferService {
 
-    private final SimulatedDownstreamClient client;
+    private final HedgingDownstreamClient   client;
     private final TransferRecordRepository  repository;
+    private final TransferCheckpointRepository checkpoints;
+    private final FallbackPageRangeRepository fallbacks;
+    private final TransferProperties        properties;
+    private final TransactionTemplate       tx;
 
     private final CircuitBreaker cb;
-    private final Retry          retry;
-    private final RateLimiter    rateLimiter;
-    private final io.github.resilience4j.bulkhead.Bulkhead bulkhead;
-    private final TimeLimiter    timeLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int            poolCapacity;
+    private final ResiliencePipeline<PageFetch, List<RecordDto>> fetchPipeline;
 
-    // Dedicated thread pool for async TimeLimiter futures
-    private final ScheduledExecutorService scheduler =
-            Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+    // Batches claimed in this instance, by batch id → owner (the claiming TransferProgress).
+    // A resume claims its batch before deleting anything and keeps it until run() finishes
+    private final Map<String, Object> activeBatches = new ConcurrentHashMap<>();
 
-    public TransferService(SimulatedDownstreamClient client,
+    public TransferService(HedgingDownstreamClient client,
                            TransferRecordRepository repository,
+                           TransferCheckpointRepository checkpoints,
+                           FallbackPageRangeRepository fallbacks,
+                           PlatformTransactionManager transactionManager,
+                           TransferProperties properties,
                            CircuitBreakerRegistry cbRegistry,
                            RetryRegistry retryRegistry,
                            RateLimiterRegistry rateLimiterRegistry,
-                           BulkheadRegistry bulkheadRegistry,
-                           TimeLimiterRegistry timeLimiterRegistry) {
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           TimeLimiterRegistry timeLimiterRegistry,
+                           ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry,
+                           ResiliencePipelineProperties pipelineProperties) {
         this.client      = client;
         this.repository  = repository;
+        this.checkpoints = checkpoints;
+        this.fallbacks   = fallbacks;
+        this.properties  = properties;
+        this.tx          = new TransactionTemplate(transactionManager);
         this.cb          = cbRegistry.circuitBreaker("downstream");
-        this.retry       = retryRegistry.retry("downstream");
-        this.rateLimiter = rateLimiterRegistry.rateLimiter("downstream");
-        this.bulkhead    = bulkheadRegistry.bulkhead("downstream");
-        this.timeLimiter = timeLimiterRegistry.timeLimiter("downstream");
+        this.concurrencyLimiter = concurrencyLimiter;
+
+        ThreadPoolBulkhead pool = threadPoolBulkheadRegistry.bulkhead("transfer");
+        ThreadPoolBulkheadConfig poolConfig = pool.getBulkheadConfig();
+        this.poolCapacity = poolConfig.getMaxThreadPoolSize() + poolConfig.getQueueCapacity();
+
+        // The actual (optionally hedged) call runs on the bounded "transfer" pool under the
+        // TimeLimiter — never the common pool, where fault-injected sleeps would starve everyone else
+        this.fetchPipeline = ResiliencePipeline.<PageFetch, List<RecordDto>>builder("downstream")
+                .rateLimiter(rateLimiterRegistry.rateLimiter("downstream"))
+                .bulkhead(concurrencyLimiter)
+                .circuitBreaker(cb)
+                .retry(retryRegistry.retry("downstream"), (fetch, attempt) -> {
+                    if (attempt > 1) fetch.progress().getRetriesTotal().incrementAndGet();
+                })
+                .timeLimiter(timeLimiterRegistry.timeLimiter("downstream"), pool)
+                .build(pipelineProperties.orderFor("downstream"),
+                        fetch -> client.fetchPage(fetch.page(), fetch.pageSize()));
+        log.info("Downstream resilience pipeline: {}", fetchPipeline.order());
     }
 
     /**
      * Transfers {@code totalRecords} records from the simulated downstream API,
-     * protected by all six Resilience4J modules.
+     * protected by all six Resilience4J modules, one page at a time.
      *
      * @param totalRecords total number of records to transfer
      * @param pageSize     records per page fetch
      * @return summary of the transfer operation
      */
-    @Transactional
     public TransferSummary transfer(int totalRecords, int pageSize) {
-        String batchId  = "BATCH-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        long   startMs  = System.currentTimeMillis();
-        int    pages    = (int) Math.ceil((double) totalRecords / pageSize);
-
-        AtomicInteger pagesSucceeded    = new AtomicInteger(0);
-        AtomicInteger pagesFailed       = new AtomicInteger(0);
-        AtomicInteger recordsInserted   = new AtomicInteger(0);
-        AtomicInteger retriesTotal      = new AtomicInteger(0);
-        AtomicInteger fallbacksUsed     = new AtomicInteger(0);
-        AtomicInteger cbRejections      = new AtomicInteger(0);
-        AtomicInteger bhRejections      = new AtomicInteger(0);
-        AtomicInteger rlRejections      = new AtomicInteger(0);
-        AtomicInteger timeoutRejections = new AtomicInteger(0);
-
-        // Attach a retry event listener to count retries for this transfer
-        retry.getEventPublisher().onRetry(e -> retriesTotal.incrementAndGet());
-
-        log.info("Transfer started: batchId={}, totalRecords={}, pages={}", batchId, totalRecords, pages);
-
-        for (int page = 0; page < pages; page++) {
-            final int currentPage = page;
-            try {
-                List<RecordDto> records = fetchPageWithAllResilience(currentPage, pageSize);
-                persistRecords(records, batchId, "inserted");
-                recordsInserted.addAndGet(records.size());
-                pagesSucceeded.incrementAndGet();
-
-            } catch (CallNotPermittedException e) {
-                log.warn("CB OPEN — page {} rejected: {}", currentPage, e.getMessage());
-                cbRejections.incrementAndGet();
-                pagesFailed.incrementAndGet();
-                fallbacksUsed.incrementAndGet();
-                persistFallbackPage(currentPage, pageSize, batchId);
-
-            } catch (BulkheadFullException e) {
-                log.warn("Bulkhead FULL — page {} rejected: {}", currentPage, e.getMessage());
-                bhRejections.incrementAndGet();
-                pagesFailed.incrementAndGet();
-                fallbacksUsed.incrementAndGet();
-                persistFallbackPage(currentPage, pageSize, batchId);
-
-            } catch (RequestNotPermitted e) {
-                log.warn("Rate LIMITED — page {} rejected", currentPage);
-                rlRejections.incrementAndGet();
-                pagesFailed.incrementAndGet();
-                fallbacksUsed.incrementAndGet();
-                persistFallbackPage(currentPage, pageSize, batchId);
-
-            } catch (TimeoutException e) {
-                log.warn("TIMEOUT — page {} timed out", currentPage);
-                timeoutRejections.incrementAndGet();
-                pagesFailed.incrementAndGet();
-                fallbacksUsed.incrementAndGet();
-                persistFallbackPage(currentPage, pageSize, batchId);
-
-            } catch (Exception e) {
-                log.warn("FAILED — page {}: {}", currentPage, e.getMessage());
-                pagesFailed.incrementAndGet();
-                fallbacksUsed.incrementAndGet();
-                persistFallbackPage(currentPage, pageSize, batchId);
+        return transfer(totalRecords, pageSize, 1);
+    }
+
+    /**
+     * Transfers {@code totalRecords} records, fetching up to {@code concurrency} pages in parallel.
+     *
+     * <p>Page fetches run on virtual threads but still go through the full downstream
+     * resilience pipeline. The requested concurrency is capped at the highest limit the
+     * adaptive bulkhead can reach and at what the {@code transfer} pool can take (threads plus
+     * queue), and pages in flight never exceed the bulkhead's current limit, since any extra
+     * fetchers would only be rejected.
+     *
+     * <p>Fetched pages (and fallback placeholders) go through the bounded hand-off queue to
+     * the writer threads. Each writer commits whatever is queued, up to
+     * {@code transfer.commit-chunk-pages} pages, in one {@link TransactionTemplate} transaction:
+     * the records, the fallback ledger ranges and the advanced checkpoint watermark commit or
+     * roll back together. The batch's checkpoint is created before the first fetch and marked
+     * COMPLETED or INCOMPLETE at the end; the method returns once every queued page has been
+     * written.
+     *
+     * <p>As soon as the circuit breaker is seen OPEN, every in-flight fetch is cancelled and
+     * recorded as a circuit-breaker rejection instead of waiting out its retries.
+     *
+     * @param totalRecords total number of records to transfer
+     * @param pageSize     records per page fetch
+     * @param concurrency  maximum number of pages in flight (values below 1 mean sequential)
+     * @return summary of the transfer operation
+     */
+    public TransferSummary transfer(int totalRecords, int pageSize, int concurrency) {
+        return run(prepare(totalRecords, pageSize, concurrency));
+    }
+
+    /**
+     * Allocates a batch id and the live counters for a transfer without starting it.
+     * {@link TransferJobService} uses this to hand out the id before the work is scheduled.
+     */
+    public TransferProgress prepare(int totalRecords, int pageSize, int concurrency) {
+        String batchId     = "BATCH-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        int    pages       = (int) Math.ceil((double) totalRecords / pageSize);
+        int    parallelism = effectiveConcurrency(concurrency);
+        return new TransferProgress(batchId, totalRecords, pageSize, 0, pages, parallelism,
+                properties.writerThreads(), properties.queueCapacity());
+    }
+
+    /**
+     * Continues an interrupted batch from its checkpoint: rows of pages above the watermark
+     * (possibly half-written) are deleted and those pages are fetched again.
+     *
+     * @throws BatchNotFoundException if the batch has no checkpoint
+     * @throws BatchConflictException if the batch is complete or still running
+     */
+    public TransferSummary resume(String batchId) {
+        return run(prepareResume(batchId));
+    }
+
+    /**
+     * Like {@link #prepare(int, int, int)}, for the remaining pages of an existing batch.
+     *
+     * <p>The batch is claimed before the checkpoint is read and anything is deleted, and stays
+     * claimed until {@link #run} finishes with the returned progress, so a second resume of the
+     * same batch is rejected even while the first one is only queued. A caller that does not
+     * go on to {@code run} it must hand it back with {@link #release}.
+     */
+    public TransferProgress prepareResume(String batchId) {
+        Object claim = new Object();
+        if (activeBatches.putIfAbsent(batchId, claim) != null) {
+            throw new BatchConflictException("Batch " + batchId + " is still running");
+        }
+        try {
+            TransferCheckpoint checkpoint = checkpoints.findById(batchId)
+                    .orElseThrow(() -> new BatchNotFoundException("No checkpoint for batch " + batchId));
+            if ("COMPLETED".equals(checkpoint.getStatus())) {
+                throw new BatchConflictException("Batch " + batchId + " is already complete");
             }
+
+            int startPage = checkpoint.getLastCommittedPage() + 1;
+            int removed   = repository.deleteByBatchIdAfterPage(batchId, checkpoint.getLastCommittedPage())
+                    + fallbacks.deleteByBatchIdAfterPage(batchId, checkpoint.getLastCommittedPage());
+            log.info("Resuming batch {} from page {}/{} ({} uncommitted rows removed)",
+                    batchId, startPage, checkpoint.getPagesTotal(), removed);
+
+            TransferProgress progress = new TransferProgress(batchId, checkpoint.getTotalRecords(),
+                    checkpoint.getPageSize(), startPage, checkpoint.getPagesTotal() - startPage,
+                    effectiveConcurrency(checkpoint.getConcurrency()),
+                    properties.writerThreads(), properties.queueCapacity());
+            activeBatches.replace(batchId, claim, progress);
+            return progress;
+        } catch (RuntimeException e) {
+            activeBatches.remove(batchId, claim);
+            throw e;
         }
+    }
 
-        long durationMs = System.currentTimeMillis() - startMs;
-        log.info("Transfer complete: batchId={}, succeeded={}/{}, duration={}ms",
-                batchId, pagesSucceeded.get(), pages, durationMs);
+    /** Drops the claim a prepared but never run {@code progress} holds on its batch. */
+    public void release(TransferProgress progress) {
+        activeBatches.remove(progress.getBatchId(), progress);
+    }
 
-        return TransferSummary.builder()
-                .batchId(batchId)
-                .totalRequested(totalRecords)
-                .pagesAttempted(pages)
-                .pagesSucceeded(pagesSucceeded.get())
-                .pagesFailed(pagesFailed.get())
-                .recordsInserted(recordsInserted.get())
-                .retriesTotal(retriesTotal.get())
-                .fallbacksUsed(fallbacksUsed.get())
-                .circuitBreakerRejections(cbRejections.get())
-                .bulkheadRejections(bhRejections.get())
-                .rateLimiterRejections(rlRejections.get())
-                .timeoutRejections(timeoutRejections.get())
-                .durationMs(durationMs)
-                .build();
+    /**
+     * Runs a transfer prepared by {@link #prepare(int, int, int)} or
+     * {@link #prepareResume(String)}, updating {@code progress} as pages complete.
+     * Blocks until every page has been written.
+     */
+    public TransferSummary run(TransferProgress progress) {
+        Object owner = activeBatches.putIfAbsent(progress.getBatchId(), progress);
+        if (owner != null && owner != progress) {
+            throw new BatchConflictException("Batch " + progress.getBatchId() + " is already running");
+        }
+        try {
+            openCheckpoint(progress);
+            return runPipeline(progress);
+        } finally {
+            closeCheckpoint(progress);
+            release(progress);
+        }
+    }
+
+    private TransferSummary runPipeline(TransferProgress progress) {
+        String batchId      = progress.getBatchId();
+        int    totalRecords = progress.getTotalRequested();
+        int    pageSize     = progress.getPageSize();
+        int    pages        = progress.pagesTotal();
+        int    parallelism  = progress.getConcurrency();
+
+        BlockingQueue<PageWrite> handoff = new ArrayBlockingQueue<>(progress.getQueueCapacity());
+
+        log.info("Transfer started: batchId={}, totalRecords={}, pages={}-{}, concurrency={}, writers={}",
+                batchId, totalRecords, progress.getStartPage(), pages - 1, parallelism,
+                progress.getWriterThreads());
+
+        ExecutorService writers = Executors.newFixedThreadPool(progress.getWriterThreads(),
+                Thread.ofPlatform().name(batchId + "-writer-", 0).factory());
+        for (int i = 0; i < progress.getWriterThreads(); i++) {
+            writers.submit(() -> drainPages(handoff, progress));
+        }
+
+        try (ExecutorService fetchers = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<List<RecordDto>> completion = new ExecutorCompletionService<>(fetchers);
+            Map<Future<List<RecordDto>>, Integer> inFlight = new HashMap<>();
+            int nextPage = progress.getStartPage();
+
+            while (nextPage < pages || !inFlight.isEmpty()) {
+                while (nextPage < pages
+                        && inFlight.size() < Math.min(parallelism, concurrencyLimiter.currentLimit())) {
+                    final int currentPage = nextPage++;
+                    inFlight.put(completion.submit(() -> fetchPageWithAllResilience(currentPage, pageSize, progress)),
+                            currentPage);
+                }
+
+                Future<List<RecordDto>> done = completion.take();
+                int page = inFlight.remove(done);
+                try {
+                    List<RecordDto> records = done.get();
+                    progress.getPagesSucceeded().incrementAndGet();
+                    handOff(handoff, PageWrite.fetched(page, records), progress);
+                } catch (CancellationException e) {
+                    log.warn("CB OPEN — in-flight page {} cancelled", page);
+                    recordFallback(handoff, progress, page, "CIRCUIT_OPEN", progress.getCbRejections());
+                } catch (ExecutionException e) {
+                    handlePageFailure(handoff, progress, page, e.getCause());
+                    if (isOpen(cb.getState()) && !inFlight.isEmpty()) {
+                        log.warn("CB OPEN — cancelling {} in-flight page(s)", inFlight.size());
+                        inFlight.keySet().forEach(f -> f.cancel(true));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Transfer " + batchId + " interrupted", e);
+        } finally {
+            stopWriters(writers, handoff, progress.getWriterThreads());
+        }
+
+        TransferSummary summary = progress.toSummary();
+        log.info("Transfer complete: batchId={}, succeeded={}/{}, committedThrough={}, duration={}ms, "
+                        + "maxQueueDepth={}/{}, fetchBlocked={}ms, persistBlocked={}ms",
+                batchId, summary.pagesSucceeded(), summary.pagesAttempted(), summary.lastCommittedPage(),
+                summary.durationMs(),
+                summary.maxQueueDepth(), summary.queueCapacity(),
+                summary.fetchBlockedMs(), summary.persistBlockedMs());
+        return summary;
+    }
+
+    private void openCheckpoint(TransferProgress progress) {
+        if (progress.getStartPage() == 0) {
+            checkpoints.save(TransferCheckpoint.builder()
+                    .batchId(progress.getBatchId())
+                    .totalRecords(progress.getTotalRequested())
+                    .pageSize(progress.getPageSize())
+                    .pagesTotal(progress.pagesTotal())
+                    .concurrency(progress.getConcurrency())
+                    .lastCommittedPage(-1)
+                    .status("RUNNING")
+                    .updatedAt(Instant.now())
+                    .build());
+        } else {
+            checkpoints.updateStatus(progress.getBatchId(), "RUNNING", Instant.now());
+        }
+    }
+
+    private void closeCheckpoint(TransferProgress progress) {
+        boolean complete = progress.lastCommittedPage() == progress.pagesTotal() - 1;
+        try {
+            checkpoints.updateStatus(progress.getBatchId(), complete ? "COMPLETED" : "INCOMPLETE", Instant.now());
+        } catch (RuntimeException e) {
+            // The watermark is already persisted; a stale status only affects the history view
+            log.error("Checkpoint status update FAILED — batch {}: {}", progress.getBatchId(), e.getMessage());
+        }
+    }
+
+    private int effectiveConcurrency(int requested) {
+        // Fetchers beyond the pool's threads + queue would only bounce off it with BulkheadFullException
+        int permitted = Math.min(concurrencyLimiter.ceiling(), poolCapacity);
+        return Math.max(1, Math.min(requested, permitted));
+    }
+
+    private static boolean isOpen(CircuitBreaker.State state) {
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private void handlePageFailure(BlockingQueue<PageWrite> handoff, TransferProgress progress,
+                                   int page, Throwable cause) throws InterruptedException {
+        if (cause instanceof CallNotPermittedException) {
+            log.warn("CB OPEN — page {} rejected: {}", page, cause.getMessage());
+            recordFallback(handoff, progress, page, "CIRCUIT_OPEN", progress.getCbRejections());
+        } else if (cause instanceof BulkheadFullException) {
+            log.warn("Bulkhead FULL — page {} rejected: {}", page, cause.getMessage());
+            recordFallback(handoff, progress, page, "BULKHEAD_FULL", progress.getBhRejections());
+        } else if (cause instanceof RequestNotPermitted) {
+            log.warn("Rate LIMITED — page {} rejected", page);
+            recordFallback(handoff, progress, page, "RATE_LIMITED", progress.getRlRejections());
+        } else if (cause instanceof TimeoutException) {
+            log.warn("TIMEOUT — page {} timed out", page);
+            recordFallback(handoff, progress, page, "TIMEOUT", progress.getTimeoutRejections());
+        } else {
+            log.warn("FAILED — page {}: {}", page, cause.getMessage());
+            recordFallback(handoff, progress, page, "ERROR", null);
+        }
+    }
+
+    private void recordFallback(BlockingQueue<PageWrite> handoff, TransferProgress progress,
+                                int page, String reason, AtomicInteger rejections) throws InterruptedException {
+        if (rejections != null) {
+            rejections.incrementAndGet();
+        }
+        progress.getPagesFailed().incrementAndGet();
+        progress.getFallbacksUsed().incrementAndGet();
+        handOff(handoff, PageWrite.fallback(page, reason), progress);
+    }
+
+    /** Fetch stage → queue. Blocks while the queue is full; the wait counts as fetch-stage blocked time. */
+    private void handOff(BlockingQueue<PageWrite> handoff, PageWrite write, TransferProgress progress)
+            throws InterruptedException {
+        long waitStart = System.nanoTime();
+        handoff.put(write);
+        progress.getFetchBlockedNanos().addAndGet(System.nanoTime() - waitStart);
+        progress.getMaxQueueDepth().accumulateAndGet(handoff.size(), Math::max);
     }
 
     /**
-     * Fetches a single page wrapped by RateLimiter → Bulkhead → CircuitBreaker → TimeLimiter → Retry.
+     * Writer stage: drains the queue until it receives {@link PageWrite#END}. Whatever is
+     * already queued, up to {@code commitChunkPages} pages, goes into a single transaction.
+     */
+    private void drainPages(BlockingQueue<PageWrite> handoff, TransferProgress progress) {
+        int            chunkPages = properties.commitChunkPages();
+        List<PageWrite> chunk     = new ArrayList<>(chunkPages);
+        try {
+            boolean endSeen = false;
+            while (!endSeen) {
+                long waitStart = System.nanoTime();
+                PageWrite write = handoff.take();
+                progress.getPersistBlockedNanos().addAndGet(System.nanoTime() - waitStart);
+
+                // Poll rather than drainTo: each writer must consume exactly one END marker
+                while (write != null && chunk.size() < chunkPages) {
+                    if (write == PageWrite.END) {
+                        endSeen = true;
+                        break;
+                    }
+                    chunk.add(write);
+                    write = chunk.size() < chunkPages ? handoff.poll() : null;
+                }
+                if (!chunk.isEmpty()) {
+                    persistChunk(chunk, progress); // never throws: a failed chunk must not stop the writer
+                    chunk.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Commits the chunk's records, its fallback ranges and the advanced watermark in one
+     * transaction. On failure all three roll back, so the checkpoint never covers a page whose
+     * rows are missing; the failure is counted and reported in the summary instead of thrown.
+     */
+    private void persistChunk(List<PageWrite> chunk, TransferProgress progress) {
+        String batchId = progress.getBatchId();
+        List<Integer> pages = new ArrayList<>(chunk.size());
+        int inserted = 0;
+        for (PageWrite write : chunk) {
+            pages.add(write.page());
+            inserted += write.records().size();
+        }
+
+        int written;
+        try {
+            written = tx.execute(status -> {
+                persistRecords(chunk, batchId);
+                persistFallbacks(chunk, batchId, progress.getPageSize());
+                int watermark = progress.watermarkWith(pages);
+                if (watermark > progress.lastCommittedPage()) {
+                    checkpoints.advanceWatermark(batchId, watermark, Instant.now());
+                }
+                return watermark;
+            });
+        } catch (RuntimeException e) {
+            log.error("Persist FAILED — batch {}, {} page(s): {}", batchId, chunk.size(), e.getMessage());
+            progress.getPersistFailures().addAndGet(chunk.size());
+            progress.getLastPersistError().set(e.getMessage());
+            return;
+        }
+        progress.getRecordsInserted().addAndGet(inserted);
+
+        // A chunk committed concurrently by another writer may have closed the gap this one
+        // saw; only pages already committed are marked, so catching up here is safe
+        int after = progress.commitPages(pages);
+        if (after > written) {
+            try {
+                checkpoints.advanceWatermark(batchId, after, Instant.now());
+            } catch (RuntimeException e) {
+                // A lagging checkpoint only makes a resume re-fetch pages that were already written
+                log.warn("Checkpoint advance FAILED — batch {} to page {}: {}", batchId, after, e.getMessage());
+            }
+        }
+    }
+
+    /** Sends one end marker per writer and waits for the queue to be fully drained. */
+    private void stopWriters(ExecutorService writers, BlockingQueue<PageWrite> handoff, int writerCount) {
+        try {
+            for (int i = 0; i < writerCount; i++) {
+                handoff.put(PageWrite.END);
+            }
+            writers.shutdown();
+            if (!writers.awaitTermination(5, TimeUnit.MINUTES)) {
+                log.warn("Writers did not finish in time — forcing shutdown");
+                writers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Fetches a single page through the prebuilt {@code downstream} pipeline (by default
+     * RateLimiter → Bulkhead → CircuitBreaker → Retry → TimeLimiter, see
+     * {@link ResiliencePipelineProperties}).
      *
-     * <p>Each layer is applied programmatically so learners can inspect exactly
-     * which decorator kicks in and why.
+     * <p>The pipeline is compiled once in the constructor; per call only the page coordinates
+     * are handed in. Retries are counted by the pipeline's attempt listener rather than by a
+     * listener on the shared Retry, so every second and later attempt of this page adds one to
+     * the transfer's {@code retriesTotal} and nothing else.
      */
-    private List<RecordDto> fetchPageWithAllResilience(int page, int pageSize)
+    private List<RecordDto> fetchPageWithAllResilience(int page, int pageSize, TransferProgress progress)
             throws Exception {
+        return fetchPipeline.execute(new PageFetch(page, pageSize, progress));
+    }
 
-        // Innermost: the actual call, wrapped with TimeLimiter (async)
-        Supplier<CompletableFuture<List<RecordDto>>> futureSupplier =
-                () -> CompletableFuture.supplyAsync(() -> client.fetchPage(page, pageSize));
+    /** Input of one pass through {@link #fetchPipeline}. */
+    private record PageFetch(int page, int pageSize, TransferProgress progress) {}
 
-        // TimeLimiter wraps the async future
-        Callable<List<RecordDto>> timedCall = timeLimiter.decorateFutureSupplier(futureSupplier);
+    /** Writes every fetched record of the chunk in one {@code saveAll} transaction. */
+    private void persistRecords(List<PageWrite> chunk, String batchId) {
+        Instant transferredAt = Instant.now();
+        List<TransferRecord> entities = new ArrayList<>();
+        for (PageWrite write : chunk) {
+            if (write.isFallback()) {
+                continue;
+            }
+            for (RecordDto r : write.records()) {
+                entities.add(toRecord(batchId, write.page(), r, transferredAt));
+            }
+        }
+        if (!entities.isEmpty()) {
+            repository.saveAll(entities);
+        }
+    }
+
+    /** Maps a fetched record to its entity; shared with {@link FallbackReconciler}. */
+    static TransferRecord toRecord(String batchId, int page, RecordDto r, Instant transferredAt) {
+        return TransferRecord.builder()
+                .batchId(batchId)
+                .externalId(r.externalId())
+                .name(r.name())
+                .category(r.category())
+                .value(r.value())
+                .sourcePage(page)
+                .status("inserted")
+                .transferredAt(transferredAt)
+                .build();
+    }
+
+    /**
+     * Records the chunk's fallback pages in the ledger, merging consecutive pages that
+     * failed for the same reason into one range row.
+     */
+    private void persistFallbacks(List<PageWrite> chunk, String batchId, int pageSize) {
+        List<PageWrite> failed = chunk.stream()
+                .filter(PageWrite::isFallback)
+                .sorted(Comparator.comparingInt(PageWrite::page))
+                .toList();
+        if (failed.isEmpty()) {
+            return;
+        }
+        Instant recordedAt = Instant.now();
+        List<FallbackPageRange> ranges = new ArrayList<>();
+        FallbackPageRange current = null;
+        for (PageWrite write : failed) {
+            if (current != null && current.lastPage() + 1 == write.page()
+                    && current.getReason().equals(write.fallbackReason())) {
+                current.setPageCount(current.getPageCount() + 1);
+            } else {
+                current = FallbackPageRange.builder()
+                        .batchId(batchId)
+                        .firstPage(write.page())
+                        .pageCount(1)
+                        .pageSize(pageSize)
+                        .reason(write.fallbackReason())
+                        .recordedAt(recordedAt)
+                        .build();
+                ranges.add(current);
+            }
+        }
+        fallbacks.saveAll(ranges);
+    }
 
-        // Retry wraps the timed call
-        Callable<List<RecordDto>> retriedCall = Retry.decorateCallable(retry, timedCall);
+    /**
+     * A page on its way from the fetch stage to the writer stage: either fetched records,
+     * or a fallback marker carrying the reason ({@code fallbackReason != null}).
+     */
+    private record PageWrite(int page, List<RecordDto> records, String fallbackReason) {
+        static final PageWrite END = new PageWrite(-1, List.of(), null);
 
-        // CircuitBreaker wraps retry
-        Callable<List<RecordDto>> cbCall = CircuitBreaker.decorateCallable(cb, retriedCall);
+        static PageWrite fetched(int page, List<RecordDto> records) {
+            return new PageWrite(page, records, null);
+        }
 
-        // Bulkhead wraps circuit breaker
-        Callable<List<RecordDto>> bhCall =
-                io.github.resilience4j.bulkhead.Bulkhead.decorateCallable(bulkhead, cbCall);
+        static PageWrite fallback(int page, String reason) {
+            return new PageWrite(page, List.of(), reason);
+        }
 
-        // RateLimiter is the outermost guard
-        Callable<List<RecordDto>> rlCall = RateLimiter.decorateCallable(rateLimiter, bhCall);
+        boolean isFallback() {
+            return fallbackReason != null;
+        }
+    }
 
-        return rlCall.call();
+    /** True while a transfer or resume of the batch is claimed (preparing, queued or running) on this instance. */
+    public boolean isActive(String batchId) {
+        return activeBatches.containsKey(batchId);
     }
 
-    private void persistRecords(List<RecordDto> records, String batchId, String status) {
-        List<TransferRecord> entities = records.stream()
-                .map(r -> TransferRecord.builder()
-                        .batchId(batchId)
-                        .externalId(r.externalId())
-                        .name(r.name())
-                        .category(r.category())
-                        .value(r.value())
-                        .sourcePage(r.page())
-                        .status(status)
-                        .transferredAt(Instant.now())
-                        .build())
-                .toList();
-        repository.saveAll(entities);
+    /**
+     * Claims the batch for {@code owner} unless a transfer, resume or another owner holds it.
+     * The {@link FallbackReconciler} holds the claim while it fetches and commits one page, so
+     * a resume cannot delete the batch's rows underneath it.
+     */
+    boolean claim(String batchId, Object owner) {
+        return activeBatches.putIfAbsent(batchId, owner) == null;
     }
 
-    private void persistFallbackPage(int page, int pageSize, String batchId) {
-        // Persist placeholder records so every requested record has a DB entry
-        List<RecordDto> placeholders = Collections.nCopies(pageSize,
-                new RecordDto("FALLBACK-P%d".formatted(page), "FALLBACK", "NONE", "0.00", page, 0));
-        persistRecords(placeholders, batchId, "fallback");
+    /** Drops a claim taken with {@link #claim}; a no-op if {@code owner} does not hold it. */
+    void release(String batchId, Object owner) {
+        activeBatches.remove(batchId, owner);
     }
 
-    /** Returns all batch IDs with record counts for the history endpoint. */
+    /** Returns all batch IDs, including batches that only have fallback pages, newest first. */
     public List<String> listBatchIds() {
-        return repository.findDistinctBatchIds();
+        TreeSet<String> ids = new TreeSet<>(Comparator.reverseOrder());
+        ids.addAll(repository.findDistinctBatchIds());
+        ids.addAll(fallbacks.findDistinctBatchIds());
+        return List.copyOf(ids);
+    }
+
+    /** Stored state of a batch: inserted records, fallback ledger totals and checkpoint. */
+    public BatchSummary getBatchSummary(String batchId) {
+        Optional<TransferCheckpoint> checkpoint = checkpoints.findById(batchId);
+        long inserted = repository.countByBatchIdAndStatus(batchId, "inserted");
+        long ranges   = fallbacks.countByBatchId(batchId);
+        if (checkpoint.isEmpty() && inserted == 0 && ranges == 0) {
+            throw new BatchNotFoundException("Unknown batch: " + batchId);
+        }
+        return new BatchSummary(batchId,
+                checkpoint.map(TransferCheckpoint::getStatus).orElse("UNKNOWN"),
+                checkpoint.map(TransferCheckpoint::getPagesTotal).orElse(0),
+                checkpoint.map(TransferCheckpoint::getLastCommittedPage).orElse(-1),
+                inserted,
+                fallbacks.sumPagesByBatchId(batchId),
+                fallbacks.sumRecordsByBatchId(batchId),
+                ranges);
+    }
+
+    /** Fallback ledger of a batch, ordered by page. */
+    public List<FallbackPageRange> getFallbacksForBatch(String batchId) {
+        return fallbacks.findByBatchIdOrderByFirstPage(batchId);
     }
 
     /** Returns transfer records for a given batchId. */
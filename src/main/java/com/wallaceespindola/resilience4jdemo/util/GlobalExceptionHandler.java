@@ -1,6 +1,10 @@
 package com.wallaceespindola.resilience4jdemo.util;
 
 import com.wallaceespindola.resilience4jdemo.dto.ApiResponse;
+import com.wallaceespindola.resilience4jdemo.service.BatchConflictException;
+import com.wallaceespindola.resilience4jdemo.service.BatchNotFoundException;
+import com.wallaceespindola.resilience4jdemo.service.JobNotFoundException;
+import com.wallaceespindola.resilience4jdemo.service.JobQueueFullException;
 import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
@@ -11,6 +15,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.NoSuchElementException;
 import java.util.concurrent.TimeoutException;
 
 /** Translates Resilience4J and other exceptions into structured JSON responses. */
@@ -50,6 +55,26 @@ public class GlobalExceptionHandler {
                 correlationId(req), req.getRequestURI());
     }
 
+    @ExceptionHandler(JobQueueFullException.class)
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public ApiResponse<Void> handleJobQueueFull(JobQueueFullException ex, HttpServletRequest req) {
+        log.warn("Transfer job rejected: {}", ex.getMessage());
+        return ApiResponse.error(ex.getMessage(), correlationId(req), req.getRequestURI());
+    }
+
+    @ExceptionHandler({BatchNotFoundException.class, JobNotFoundException.class})
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public ApiResponse<Void> handleNotFound(NoSuchElementException ex, HttpServletRequest req) {
+        return ApiResponse.error(ex.getMessage(), correlationId(req), req.getRequestURI());
+    }
+
+    @ExceptionHandler(BatchConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponse<Void> handleConflict(BatchConflictException ex, HttpServletRequest req) {
+        log.warn("Conflicting request: {}", ex.getMessage());
+        return ApiResponse.error(ex.getMessage(), correlationId(req), req.getRequestURI());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ApiResponse<Void> handleGeneric(Exception ex, HttpServletRequest req) {
@@ -0,0 +1,35 @@
+package com.wallaceespindola.resilience4jdemo.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Per-call retry accounting.
+ *
+ * <p>The shared Retry's event publisher is the wrong place to count retries for one call:
+ * a consumer registered there is never removed and receives every other caller's events
+ * too. Instead, wrap the callable <em>inside</em> the Retry decorator — Retry invokes it
+ * once per attempt, so the wrapper sees exactly this call's attempts and is garbage with it.
+ *
+ * <pre>{@code
+ * Callable<T> counted = RetryAttempts.onEachAttempt(call, n -> { if (n > 1) retries.incrementAndGet(); });
+ * Retry.decorateCallable(retry, counted).call();
+ * }</pre>
+ */
+public final class RetryAttempts {
+
+    private RetryAttempts() {}
+
+    /**
+     * Returns a callable that reports its 1-based attempt number to {@code onAttempt}
+     * before each invocation of {@code callable}.
+     */
+    public static <T> Callable<T> onEachAttempt(Callable<T> callable, IntConsumer onAttempt) {
+        AtomicInteger attempts = new AtomicInteger();
+        return () -> {
+            onAttempt.accept(attempts.incrementAndGet());
+            return callable.call();
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.wallaceespindola.resilience4jdemo.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Hit ratio over the last {@code window}, kept as a ring of one-second buckets.
+ *
+ * <p>Lifetime hit/miss totals stop moving once a cache has run for a while; the rolling ratio
+ * shows what the cache is doing <em>now</em>, e.g. right after a clear or a change in traffic.
+ * Recording only adds to the current bucket's {@link LongAdder}s; a bucket is reset (under a
+ * lock) the first time it is reused for a new second, so counts racing that reset may land in
+ * either second.
+ */
+public final class RollingHitRatio {
+
+    private final int             buckets;
+    private final LongSupplier    clockSeconds;
+    private final AtomicLongArray seconds;
+    private final LongAdder[]     hits;
+    private final LongAdder[]     misses;
+
+    public RollingHitRatio(Duration window) {
+        this(window, () -> System.currentTimeMillis() / 1000);
+    }
+
+    public RollingHitRatio(Duration window, LongSupplier clockSeconds) {
+        this.buckets      = (int) Math.max(1, window.toSeconds());
+        this.clockSeconds = clockSeconds;
+        this.seconds      = new AtomicLongArray(buckets);
+        this.hits         = new LongAdder[buckets];
+        this.misses       = new LongAdder[buckets];
+        for (int i = 0; i < buckets; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+            hits[i]   = new LongAdder();
+            misses[i] = new LongAdder();
+        }
+    }
+
+    public void record(long hitCount, long missCount) {
+        long now = clockSeconds.getAsLong();
+        int  i   = (int) Math.floorMod(now, (long) buckets);
+        if (seconds.get(i) != now) {
+            roll(i, now);
+        }
+        hits[i].add(hitCount);
+        misses[i].add(missCount);
+    }
+
+    private synchronized void roll(int i, long now) {
+        if (seconds.get(i) != now) {
+            hits[i].reset();
+            misses[i].reset();
+            seconds.set(i, now);
+        }
+    }
+
+    /** Hits / (hits + misses) over the window, or -1 when nothing was looked up in it. */
+    public double ratio() {
+        long now = clockSeconds.getAsLong();
+        long h = 0;
+        long m = 0;
+        for (int i = 0; i < buckets; i++) {
+            long second = seconds.get(i);
+            if (second != Long.MIN_VALUE && now - second < buckets) {
+                h += hits[i].sum();
+                m += misses[i].sum();
+            }
+        }
+        return h + m == 0 ? -1 : (double) h / (h + m);
+    }
+
+    public synchronized void reset() {
+        for (int i = 0; i < buckets; i++) {
+            seconds.set(i, Long.MIN_VALUE);
+            hits[i].reset();
+            misses[i].reset();
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class CacheController {
     }
 
     @GetMapping("/all")
-    @Operation(summary = "Fetch all metadata keys (batch cache demo)")
+    @Operation(summary = "Fetch all metadata keys (missing keys loaded in one batched call)")
     public ApiResponse<Map<String, String>> getAll(HttpServletRequest req) {
         return ApiResponse.ok(service.getAllMetadata(), cid(req), req.getRequestURI());
     }
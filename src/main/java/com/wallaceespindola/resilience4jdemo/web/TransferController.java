@@ -1,15 +1,24 @@
 package com.wallaceespindola.resilience4jdemo.web;
 
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
 import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
 import com.wallaceespindola.resilience4jdemo.dto.ApiResponse;
+import com.wallaceespindola.resilience4jdemo.dto.BatchSummary;
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
 import com.wallaceespindola.resilience4jdemo.dto.TransferRequest;
 import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import com.wallaceespindola.resilience4jdemo.service.JobNotFoundException;
+import com.wallaceespindola.resilience4jdemo.service.TransferEventService;
+import com.wallaceespindola.resilience4jdemo.service.TransferJobService;
 import com.wallaceespindola.resilience4jdemo.service.TransferService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,6 +28,10 @@ import java.util.List;
  * <p>A transfer fetches N records from the simulated downstream API in pages,
  * applying all six Resilience4J modules, and persists records into H2.
  * The response includes a full summary of what happened (retries, fallbacks, etc.).
+ *
+ * <p>{@code /start} runs the transfer on the request thread. For large transfers submit a
+ * job to {@code /jobs} instead and poll {@code /jobs/{jobId}} for live counters, or
+ * subscribe to {@code /jobs/{jobId}/events} to have them pushed.
  */
 @RestController
 @RequestMapping("/api/transfer")
@@ -26,7 +39,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TransferController {
 
-    private final TransferService service;
+    private final TransferService      service;
+    private final TransferJobService   jobService;
+    private final TransferEventService eventService;
 
     /**
      * POST — Start a bulk transfer with a JSON body.
@@ -36,20 +51,72 @@ public class TransferController {
     @Operation(summary = "Start bulk transfer (POST with body)")
     public ApiResponse<TransferSummary> start(@RequestBody TransferRequest request,
                                                HttpServletRequest req) {
-        TransferSummary summary = service.transfer(request.totalRecords(), request.pageSize());
+        TransferSummary summary = service.transfer(
+                request.totalRecords(), request.pageSize(), request.concurrency());
         return ApiResponse.ok(summary, "Transfer complete", cid(req), req.getRequestURI());
     }
 
-    /** GET alternative — transfer {totalRecords} records with {pageSize} per page. */
+    /**
+     * GET alternative — transfer {totalRecords} records with {pageSize} per page.
+     * Add {@code ?concurrency=5} to fetch up to 5 pages in parallel.
+     */
     @GetMapping("/start/{totalRecords}/{pageSize}")
     @Operation(summary = "Start bulk transfer (GET with path vars)")
     public ApiResponse<TransferSummary> startGet(@PathVariable int totalRecords,
                                                   @PathVariable int pageSize,
+                                                  @RequestParam(defaultValue = "1") int concurrency,
                                                   HttpServletRequest req) {
-        TransferSummary summary = service.transfer(totalRecords, pageSize);
+        TransferSummary summary = service.transfer(totalRecords, pageSize, concurrency);
         return ApiResponse.ok(summary, "Transfer complete", cid(req), req.getRequestURI());
     }
 
+    /** Submits a transfer as a background job; responds 202 with the job id right away. */
+    @PostMapping("/jobs")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Submit bulk transfer as an async job")
+    public ApiResponse<TransferJobStatus> submitJob(@RequestBody TransferRequest request,
+                                                    HttpServletRequest req) {
+        TransferJobStatus job = jobService.submit(
+                request.totalRecords(), request.pageSize(), request.concurrency());
+        return ApiResponse.ok(job, "Transfer job accepted", cid(req), req.getRequestURI());
+    }
+
+    /**
+     * Resumes an interrupted batch from its last checkpoint as a background job (202).
+     * 404 if the batch is unknown, 409 if it is complete or still running.
+     */
+    @PostMapping("/resume/{batchId}")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(summary = "Resume an interrupted transfer from its checkpoint")
+    public ApiResponse<TransferJobStatus> resume(@PathVariable String batchId, HttpServletRequest req) {
+        TransferJobStatus job = jobService.submitResume(batchId);
+        return ApiResponse.ok(job, "Transfer resume accepted", cid(req), req.getRequestURI());
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "List recent transfer jobs")
+    public ApiResponse<List<TransferJobStatus>> jobs(HttpServletRequest req) {
+        return ApiResponse.ok(jobService.listJobs(), cid(req), req.getRequestURI());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Poll a transfer job for live counters")
+    public ApiResponse<TransferJobStatus> job(@PathVariable String jobId, HttpServletRequest req) {
+        TransferJobStatus job = jobService.status(jobId)
+                .orElseThrow(() -> new JobNotFoundException("Unknown transfer job: " + jobId));
+        return ApiResponse.ok(job, cid(req), req.getRequestURI());
+    }
+
+    /**
+     * Server-Sent Events stream of a job's counters: {@code progress} events (coalesced,
+     * only when something changed) followed by one {@code complete} event.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live transfer progress (SSE)")
+    public SseEmitter jobEvents(@PathVariable String jobId) {
+        return eventService.subscribe(jobId);
+    }
+
     @GetMapping("/history")
     @Operation(summary = "List all batch IDs")
     public ApiResponse<List<String>> history(HttpServletRequest req) {
@@ -63,6 +130,20 @@ public class TransferController {
         return ApiResponse.ok(service.getRecordsForBatch(batchId), cid(req), req.getRequestURI());
     }
 
+    @GetMapping("/batch/{batchId}/summary")
+    @Operation(summary = "Get inserted and fallback totals for a batch")
+    public ApiResponse<BatchSummary> batchSummary(@PathVariable String batchId,
+                                                  HttpServletRequest req) {
+        return ApiResponse.ok(service.getBatchSummary(batchId), cid(req), req.getRequestURI());
+    }
+
+    @GetMapping("/batch/{batchId}/fallbacks")
+    @Operation(summary = "Get the fallback page ranges recorded for a batch")
+    public ApiResponse<List<FallbackPageRange>> batchFallbacks(@PathVariable String batchId,
+                                                                HttpServletRequest req) {
+        return ApiResponse.ok(service.getFallbacksForBatch(batchId), cid(req), req.getRequestURI());
+    }
+
     private String cid(HttpServletRequest req) {
         Object c = req.getAttribute("correlationId");
         return c != null ? c.toString() : "n/a";
@@ -0,0 +1,156 @@
+package com.wallaceespindola.resilience4jdemo.client;
+
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CoalescingDownstreamClient Tests")
+class CoalescingDownstreamClientTest {
+
+    private static final List<RecordDto> PAGE =
+            List.of(new RecordDto("EXT-0000-0000", "N", "CAT", "1.00", 0, 0));
+
+    @Mock private SimulatedDownstreamClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService     callers       = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private CoalescingDownstreamClient build(boolean enabled) {
+        return new CoalescingDownstreamClient(delegate, new CoalescingProperties(enabled), meterRegistry);
+    }
+
+    /** Runs {@code call} on four threads at once and collects the outcomes. */
+    private <T> List<Future<T>> burst(Callable<T> call) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            futures.add(callers.submit(call));
+        }
+        return futures;
+    }
+
+    @Test
+    @DisplayName("Disabled: every caller makes its own downstream call")
+    void disabled_callsThrough() {
+        CoalescingDownstreamClient client = build(false);
+        when(delegate.fetchMetadata("region")).thenReturn("EU-WEST-1");
+
+        client.fetchMetadata("region");
+        client.fetchMetadata("region");
+
+        verify(delegate, times(2)).fetchMetadata("region");
+        assertThat(client.getCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent identical fetches share one downstream call and its result")
+    void concurrentIdentical_shareOneCall() throws Exception {
+        CoalescingDownstreamClient client = build(true);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(300);
+            return PAGE;
+        });
+
+        for (Future<List<RecordDto>> f : burst(() -> client.fetchPage(0, 1))) {
+            assertThat(f.get(5, TimeUnit.SECONDS)).isSameAs(PAGE);
+        }
+
+        verify(delegate, times(1)).fetchPage(0, 1);
+        assertThat(client.getCalls()).isEqualTo(4);
+        assertThat(client.getCoalesced()).isEqualTo(3);
+        assertThat(client.getInFlight()).isZero();
+        assertThat(meterRegistry.get("downstream.coalesce.coalesced").functionCounter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("A failure is shared unchanged with every waiting caller")
+    void concurrentIdentical_shareFailure() {
+        CoalescingDownstreamClient client = build(true);
+        when(delegate.fetchMetadata("region")).thenAnswer(inv -> {
+            Thread.sleep(300);
+            throw new SimulatedServerException("Forced 500");
+        });
+
+        for (Future<String> f : burst(() -> client.fetchMetadata("region"))) {
+            assertThatThrownBy(() -> f.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause()
+                    .isInstanceOf(SimulatedServerException.class)
+                    .hasMessage("Forced 500");
+        }
+        verify(delegate, times(1)).fetchMetadata("region");
+    }
+
+    @Test
+    @DisplayName("Nothing is cached: a call after the first has finished goes downstream again")
+    void sequentialCalls_notCoalesced() {
+        CoalescingDownstreamClient client = build(true);
+        when(delegate.fetchPage(0, 1)).thenReturn(PAGE);
+
+        client.fetchPage(0, 1);
+        client.fetchPage(0, 1);
+
+        verify(delegate, times(2)).fetchPage(0, 1);
+        assertThat(client.getCoalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Different arguments are never coalesced")
+    void differentKeys_notCoalesced() throws Exception {
+        CoalescingDownstreamClient client = build(true);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(100);
+            return PAGE;
+        });
+
+        Future<List<RecordDto>> a = callers.submit(() -> client.fetchPage(0, 1));
+        Future<List<RecordDto>> b = callers.submit(() -> client.fetchPage(1, 1));
+        a.get(5, TimeUnit.SECONDS);
+        b.get(5, TimeUnit.SECONDS);
+
+        verify(delegate).fetchPage(0, 1);
+        verify(delegate).fetchPage(1, 1);
+        assertThat(client.getCoalesced()).isZero();
+    }
+
+    @Test
+    @DisplayName("Batches whose keys join to the same text are not coalesced")
+    void batchesWithSeparatorInKey_notCoalesced() throws Exception {
+        CoalescingDownstreamClient client = build(true);
+        when(delegate.fetchMetadataBatch(anyCollection())).thenAnswer(inv -> {
+            Thread.sleep(100);
+            Collection<String> keys = inv.getArgument(0);
+            return Map.of("keys", String.valueOf(keys.size()));
+        });
+
+        Future<Map<String, String>> one = callers.submit(() -> client.fetchMetadataBatch(List.of("a,b")));
+        Future<Map<String, String>> two = callers.submit(() -> client.fetchMetadataBatch(List.of("a", "b")));
+
+        assertThat(one.get(5, TimeUnit.SECONDS)).containsEntry("keys", "1");
+        assertThat(two.get(5, TimeUnit.SECONDS)).containsEntry("keys", "2");
+        assertThat(client.getCoalesced()).isZero();
+    }
+}
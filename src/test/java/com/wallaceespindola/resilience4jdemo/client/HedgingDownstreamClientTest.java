@@ -0,0 +1,190 @@
+package com.wallaceespindola.resilience4jdemo.client;
+
+import com.wallaceespindola.resilience4jdemo.config.HedgingProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("HedgingDownstreamClient Tests")
+class HedgingDownstreamClientTest {
+
+    private static final List<RecordDto> PAGE =
+            List.of(new RecordDto("EXT-0000-0000", "N", "CAT", "1.00", 0, 0));
+
+    @Mock private SimulatedDownstreamClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgingDownstreamClient client;
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+    }
+
+    /** 5-sample warm-up, 10ms minimum delay. */
+    private HedgingDownstreamClient build(int budgetPercent) {
+        client = new HedgingDownstreamClient(delegate,
+                new HedgingProperties(true, 95, budgetPercent, 10, 5, Duration.ofMillis(10)), meterRegistry);
+        return client;
+    }
+
+    private void warmUp() {
+        for (int i = 0; i < 5; i++) {
+            client.fetchPage(0, 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Disabled: fetches go straight to the downstream client on the caller's thread")
+    void disabled_delegatesDirectly() {
+        client = new HedgingDownstreamClient(delegate, HedgingProperties.disabled(), meterRegistry);
+        Thread caller = Thread.currentThread();
+        when(delegate.fetchPage(3, 10)).thenAnswer(inv -> {
+            assertThat(Thread.currentThread()).isSameAs(caller);
+            return PAGE;
+        });
+
+        assertThat(client.fetchPage(3, 10)).isEqualTo(PAGE);
+        assertThat(client.getRequests()).isZero();
+    }
+
+    @Test
+    @DisplayName("No hedging until enough latencies have been seen")
+    void warmingUp_noHedge() {
+        build(100);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(30);
+            return PAGE;
+        });
+
+        client.fetchPage(0, 1);
+
+        assertThat(client.currentDelayMs()).isEqualTo(-1);
+        assertThat(client.getHedged()).isZero();
+        verify(delegate, times(1)).fetchPage(0, 1);
+    }
+
+    @Test
+    @DisplayName("A slow attempt is hedged; the faster hedge wins and the slow one is cancelled")
+    void slowAttempt_hedgeWins_loserCancelled() throws InterruptedException {
+        build(100);
+        AtomicBoolean  slowNext    = new AtomicBoolean(false);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            if (slowNext.getAndSet(false)) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw new IllegalStateException("cancelled", e);
+                }
+            }
+            return PAGE;
+        });
+        warmUp();
+        assertThat(client.currentDelayMs()).isEqualTo(10);
+
+        slowNext.set(true);
+        long start = System.nanoTime();
+        List<RecordDto> records = client.fetchPage(7, 1);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(records).isEqualTo(PAGE);
+        assertThat(elapsedMs).isLessThan(2_000);
+        assertThat(client.getHedged()).isEqualTo(1);
+        assertThat(client.getHedgeWins()).isEqualTo(1);
+        assertThat(client.getCancelled()).isEqualTo(1);
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        verify(delegate, times(2)).fetchPage(7, 1);
+        assertThat(meterRegistry.get("downstream.hedge.fired").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Without budget a slow attempt is simply awaited")
+    void budgetExhausted_noHedge() {
+        build(1); // 1% — five warm-up fetches earn far less than one hedge
+        AtomicBoolean slowNext = new AtomicBoolean(false);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            if (slowNext.getAndSet(false)) {
+                Thread.sleep(100);
+            }
+            return PAGE;
+        });
+        warmUp();
+
+        slowNext.set(true);
+        assertThat(client.fetchPage(7, 1)).isEqualTo(PAGE);
+
+        assertThat(client.getHedged()).isZero();
+        assertThat(client.getBudgetExhausted()).isEqualTo(1);
+        verify(delegate, times(1)).fetchPage(7, 1);
+    }
+
+    @Test
+    @DisplayName("A failure is rethrown unchanged so the resilience layers above can see it")
+    void failure_rethrownUnchanged() {
+        build(100);
+        when(delegate.fetchPage(anyInt(), anyInt())).thenThrow(new SimulatedServerException("Forced 500"));
+
+        assertThatThrownBy(() -> client.fetchPage(0, 1))
+                .isInstanceOf(SimulatedServerException.class)
+                .hasMessage("Forced 500");
+    }
+
+    @Test
+    @DisplayName("An interrupted caller keeps its interrupt flag and gets a CancellationException")
+    void interruptedCaller_cancelsAndKeepsFlag() throws Exception {
+        build(100);
+        CountDownLatch attemptStarted = new CountDownLatch(1);
+        AtomicBoolean attemptInterrupted = new AtomicBoolean();
+        when(delegate.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            attemptStarted.countDown();
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                attemptInterrupted.set(true);
+                throw e;
+            }
+            return PAGE;
+        });
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        AtomicBoolean flagKept = new AtomicBoolean();
+        Thread caller = Thread.ofPlatform().start(() -> {
+            try {
+                client.fetchPage(0, 1);
+            } catch (RuntimeException e) {
+                thrown.set(e);
+                flagKept.set(Thread.currentThread().isInterrupted());
+            }
+        });
+
+        assertThat(attemptStarted.await(1, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join(1_000);
+
+        assertThat(thrown.get()).isInstanceOf(CancellationException.class)
+                .hasCauseInstanceOf(InterruptedException.class);
+        assertThat(flagKept).isTrue();
+        verify(delegate, timeout(1_000).times(1)).fetchPage(0, 1);
+        assertThat(client.getCancelled()).isEqualTo(1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.wallaceespindola.resilience4jdemo.client;
 
+import com.wallaceespindola.resilience4jdemo.dto.FaultSettingsDto;
 import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
 import com.wallaceespindola.resilience4jdemo.fault.FaultInjectionSettings;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +13,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -60,6 +63,19 @@ class SimulatedDownstreamClientTest {
         });
     }
 
+    @Test
+    @DisplayName("fetchPage formats ids, names and values as EXT-%04d-%04d, Record-P%d-I%d and %.2f")
+    void fetchPage_noFaults_fieldFormats() {
+        List<RecordDto> records = client.fetchPage(7, 12);
+
+        assertThat(records.get(0).externalId()).isEqualTo("EXT-0007-0000");
+        assertThat(records.get(11).externalId()).isEqualTo("EXT-0007-0011");
+        assertThat(records.get(11).name()).isEqualTo("Record-P7-I11");
+        assertThat(records.get(11).category()).isEqualTo("WITHDRAWAL");
+        assertThat(records).allSatisfy(r -> assertThat(r.value()).matches("\\d{1,4}\\.\\d{2}"));
+        assertThat(client.fetchPage(12345, 1).get(0).externalId()).isEqualTo("EXT-12345-0000");
+    }
+
     @Test
     @DisplayName("fetchPage increments totalCallsAttempted")
     void fetchPage_incrementsAttempted() {
@@ -108,10 +124,71 @@ class SimulatedDownstreamClientTest {
                 .isInstanceOf(SimulatedServerException.class);
     }
 
+    @Test
+    @DisplayName("fetchMetadataBatch returns a value per key in order, counted as one call")
+    void fetchMetadataBatch_returnsValuesInOrder() {
+        Map<String, String> values = client.fetchMetadataBatch(List.of("env", "region", "nonexistent"));
+
+        assertThat(values).containsExactly(
+                Map.entry("env", "demo"), Map.entry("region", "EU-WEST-1"), Map.entry("nonexistent", "unknown-nonexistent"));
+        assertThat(attempted.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("fetchMetadataBatch pays the injected delay once for the whole batch")
+    void fetchMetadataBatch_delayAppliedOnce() {
+        when(settings.getFixedDelayMs()).thenReturn(100L);
+
+        long start = System.currentTimeMillis();
+        client.fetchMetadataBatch(List.of("region", "env", "version", "owner", "sla"));
+
+        assertThat(System.currentTimeMillis() - start).isLessThan(400);
+    }
+
+    @Test
+    @DisplayName("fetchMetadataBatch throws when forceHttp500 is set")
+    void fetchMetadataBatch_forceHttp500_throws() {
+        when(settings.isForceHttp500()).thenReturn(true);
+        assertThatThrownBy(() -> client.fetchMetadataBatch(List.of("region", "env")))
+                .isInstanceOf(SimulatedServerException.class);
+    }
+
     @Test
     @DisplayName("fetchMetadata increments totalCallsAttempted")
     void fetchMetadata_incrementsAttempted() {
         client.fetchMetadata("env");
         assertThat(attempted.get()).isEqualTo(1);
     }
+
+    @Test
+    @DisplayName("Seeded mode: the same settings replay the same failure sequence")
+    void seeded_replaysSameFailures() {
+        FaultInjectionSettings seeded = new FaultInjectionSettings();
+        SimulatedDownstreamClient seededClient = new SimulatedDownstreamClient(seeded);
+        FaultSettingsDto flaky = new FaultSettingsDto(50, 0, 0, false, false, false, 10, false, 42L);
+
+        seeded.applyFrom(flaky);
+        List<Boolean> first = outcomes(seededClient, 40);
+        seeded.applyFrom(flaky);
+        List<Boolean> replay = outcomes(seededClient, 40);
+        seeded.applyFrom(new FaultSettingsDto(50, 0, 0, false, false, false, 10, false, 43L));
+        List<Boolean> otherSeed = outcomes(seededClient, 40);
+
+        assertThat(first).contains(true, false);
+        assertThat(replay).isEqualTo(first);
+        assertThat(otherSeed).isNotEqualTo(first);
+    }
+
+    private static List<Boolean> outcomes(SimulatedDownstreamClient client, int calls) {
+        List<Boolean> failed = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            try {
+                client.fetchPage(i, 1);
+                failed.add(false);
+            } catch (SimulatedServerException e) {
+                failed.add(true);
+            }
+        }
+        return failed;
+    }
 }
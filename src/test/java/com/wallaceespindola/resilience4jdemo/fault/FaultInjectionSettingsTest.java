@@ -96,4 +96,44 @@ class FaultInjectionSettingsTest {
         assertThat(settings.isForceTimeout()).isTrue();
         assertThat(settings.getMaxConcurrentDownstream()).isEqualTo(3);
     }
+
+    @Test
+    @DisplayName("applyFrom with a seed switches to seeded mode and restarts call numbering")
+    void applyFrom_seed_restartsCallNumbers() {
+        settings.applyFrom(new FaultSettingsDto(50, 0, 0, false, false, false, 10, false, 42L));
+        assertThat(settings.getSeed()).isEqualTo(42L);
+        assertThat(settings.nextCallNumber("fetchPage")).isEqualTo(1);
+        assertThat(settings.nextCallNumber("fetchPage")).isEqualTo(2);
+        assertThat(settings.nextCallNumber("fetchMetadata")).isEqualTo(1);
+        assertThat(settings.toDto().seed()).isEqualTo(42L);
+
+        settings.applyFrom(settings.toDto());
+        assertThat(settings.nextCallNumber("fetchPage")).isEqualTo(1);
+
+        settings.reset();
+        assertThat(settings.getSeed()).isNull();
+    }
+
+    @Test
+    @DisplayName("draw is a pure function of seed, operation, call number and stream")
+    void draw_isPureFunctionOfInputs() {
+        double d = FaultInjectionSettings.draw(42, "fetchPage", 7, 0);
+
+        assertThat(d).isBetween(0.0, 1.0).isNotEqualTo(1.0);
+        assertThat(FaultInjectionSettings.draw(42, "fetchPage", 7, 0)).isEqualTo(d);
+        assertThat(FaultInjectionSettings.draw(43, "fetchPage", 7, 0)).isNotEqualTo(d);
+        assertThat(FaultInjectionSettings.draw(42, "fetchMetadata", 7, 0)).isNotEqualTo(d);
+        assertThat(FaultInjectionSettings.draw(42, "fetchPage", 8, 0)).isNotEqualTo(d);
+        assertThat(FaultInjectionSettings.draw(42, "fetchPage", 7, 1)).isNotEqualTo(d);
+    }
+
+    @Test
+    @DisplayName("Seeded draws are spread evenly enough for error rates")
+    void draw_isRoughlyUniform() {
+        int below = 0;
+        for (long n = 1; n <= 10_000; n++) {
+            if (FaultInjectionSettings.draw(1, "fetchPage", n, 1) < 0.3) below++;
+        }
+        assertThat(below).isBetween(2_800, 3_200);
+    }
 }
@@ -0,0 +1,138 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    /** Adjuster tick far in the future — tests drive adjust() themselves. */
+    private static final AdaptiveConcurrencyProperties MANUAL =
+            new AdaptiveConcurrencyProperties(true, 1, 10, Duration.ofHours(1), 2.0, 0.1, 0.75);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @AfterEach
+    void tearDown() {
+        limiter.shutdown();
+    }
+
+    private AdaptiveConcurrencyLimiter build(int initialLimit, AdaptiveConcurrencyProperties properties) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(initialLimit)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        limiter = new AdaptiveConcurrencyLimiter(registry, properties, meterRegistry);
+        return limiter;
+    }
+
+    private static void call(AdaptiveConcurrencyLimiter limiter, Supplier<String> body) {
+        limiter.decorateSupplier(body).get();
+    }
+
+    @Test
+    @DisplayName("Disabled: the configured bulkhead limit is kept")
+    void disabled_keepsConfiguredLimit() {
+        build(5, AdaptiveConcurrencyProperties.disabled());
+
+        assertThat(limiter.currentLimit()).isEqualTo(5);
+        assertThat(limiter.ceiling()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Healthy calls that reach the limit grow it by one, and the gauge follows")
+    void saturatedAndHealthy_growsAdditively() {
+        build(1, MANUAL);
+        call(limiter, () -> "ok");
+
+        assertThat(limiter.adjust()).isEqualTo(2);
+        assertThat(limiter.bulkhead().getMetrics().getMaxAllowedConcurrentCalls()).isEqualTo(2);
+        assertThat(meterRegistry.get("resilience4j.bulkhead.adaptive.limit").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("The limit does not grow when it was never reached")
+    void unsaturated_limitUnchanged() {
+        build(4, MANUAL);
+        call(limiter, () -> "ok");
+
+        assertThat(limiter.adjust()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("The limit never grows past max-limit")
+    void growth_cappedAtMaxLimit() {
+        build(2, new AdaptiveConcurrencyProperties(true, 1, 2, Duration.ofHours(1), 2.0, 0.1, 0.75));
+        // Nested calls hold both permits at once
+        call(limiter, () -> limiter.decorateSupplier(() -> "inner").get());
+
+        assertThat(limiter.adjust()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A high error rate cuts the limit multiplicatively")
+    void errors_backOffMultiplicatively() {
+        build(8, MANUAL);
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> call(limiter, () -> { throw new IllegalStateException("boom"); }))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        assertThat(limiter.adjust()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("Latency well above the baseline cuts the limit, down to min-limit")
+    void slowCalls_backOffToMinLimit() {
+        build(2, MANUAL);
+        call(limiter, () -> "fast");
+        limiter.adjust(); // establishes the baseline
+
+        for (int round = 0; round < 3; round++) {
+            call(limiter, () -> {
+                sleep(50);
+                return "slow";
+            });
+            limiter.adjust();
+        }
+
+        assertThat(limiter.currentLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Calls rejected by an open circuit are not sampled")
+    void circuitRejections_notSampled() {
+        build(4, MANUAL);
+        CircuitBreaker cb = CircuitBreaker.ofDefaults("test");
+        cb.transitionToOpenState();
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> call(limiter, () -> {
+                throw CallNotPermittedException.createCallNotPermittedException(cb);
+            })).isInstanceOf(CallNotPermittedException.class);
+        }
+
+        assertThat(limiter.adjust()).isEqualTo(4);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
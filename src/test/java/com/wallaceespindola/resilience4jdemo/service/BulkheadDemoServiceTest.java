@@ -1,11 +1,15 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,7 +23,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("BulkheadDemoService Tests")
@@ -28,6 +32,8 @@ class BulkheadDemoServiceTest {
     @Mock private SimulatedDownstreamClient client;
 
     private BulkheadDemoService service;
+    private AdaptiveConcurrencyLimiter limiter;
+    private CircuitBreakerRegistry     cbRegistry;
 
     @BeforeEach
     void setUp() {
@@ -36,10 +42,16 @@ class BulkheadDemoServiceTest {
                 .maxWaitDuration(Duration.ofMillis(0))  // reject immediately if full
                 .build();
         BulkheadRegistry bhRegistry = BulkheadRegistry.of(bhConfig);
-        CircuitBreakerRegistry cbRegistry =
-                CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults());
+        cbRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults());
 
-        service = new BulkheadDemoService(bhRegistry, client, cbRegistry);
+        limiter = new AdaptiveConcurrencyLimiter(bhRegistry,
+                AdaptiveConcurrencyProperties.disabled(), new SimpleMeterRegistry());
+
+        service = new BulkheadDemoService(limiter, coalescing(CoalescingProperties.disabled()), cbRegistry);
+    }
+
+    private CoalescingDownstreamClient coalescing(CoalescingProperties properties) {
+        return new CoalescingDownstreamClient(client, properties, new SimpleMeterRegistry());
     }
 
     @Test
@@ -115,4 +127,22 @@ class BulkheadDemoServiceTest {
         List<DemoCallResult> results = service.concurrent(1);
         assertThat(results).hasSize(1);
     }
+
+    @Test
+    @DisplayName("With coalescing, a burst of identical calls shares one bulkhead permit")
+    void concurrent_coalesced_allAdmittedOneDownstreamCall() throws InterruptedException {
+        CoalescingDownstreamClient coalescing = coalescing(new CoalescingProperties(true));
+        service = new BulkheadDemoService(limiter, coalescing, cbRegistry);
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(300);
+            return List.of();
+        });
+
+        List<DemoCallResult> results = service.concurrent(4);
+
+        assertThat(results).extracting(DemoCallResult::outcome).containsOnly("success");
+        assertThat(coalescing.getCalls()).isEqualTo(4);
+        assertThat(coalescing.getCoalesced()).isEqualTo(3);
+        verify(client, times(1)).fetchPage(0, 1);
+    }
 }
@@ -1,24 +1,43 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.config.CacheConfig;
-import io.github.resilience4j.cache.Cache;
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
+import com.wallaceespindola.resilience4jdemo.config.MetadataCacheProperties;
+import com.wallaceespindola.resilience4jdemo.dto.MetadataEntry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
 
-import javax.cache.CacheManager;
-import javax.cache.Caching;
-import javax.cache.configuration.MutableConfiguration;
-import javax.cache.spi.CachingProvider;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -28,29 +47,57 @@ class CacheDemoServiceTest {
 
     @Mock private SimulatedDownstreamClient client;
 
-    private javax.cache.Cache<String, String> jCache;
-    private Cache<String, String>             r4jCache;
+    private AsyncCache<String, String>        fresh;
+    /** Synchronous view of the fresh tier. */
+    private Cache<String, String>             cache;
     private CacheConfig                       cacheConfig;
     private CacheDemoService                  service;
+    private MetadataFileStore                 l2 = MetadataFileStore.none();
+    private final CircuitBreakerRegistry      cbRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final SimpleMeterRegistry         meterRegistry = new SimpleMeterRegistry();
+
+    /** Drives the stale tier's expiry; stale values are kept for 10 minutes. */
+    private final AtomicLong nanos = new AtomicLong();
+    private final Cache<String, MetadataEntry> staleTier =
+            Caffeine.newBuilder().expireAfterWrite(Duration.ofMinutes(10)).ticker(nanos::get).build();
+    /** Unknown keys are remembered for 10 seconds on the same ticker. */
+    private final Cache<String, String> negativeTier =
+            Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(10)).ticker(nanos::get).build();
 
     @BeforeEach
     void setUp() {
-        CachingProvider provider = Caching.getCachingProvider(
-                "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
-        CacheManager manager = provider.getCacheManager();
-        MutableConfiguration<String, String> cfg = new MutableConfiguration<String, String>()
-                .setTypes(String.class, String.class)
-                .setStoreByValue(false);
-        // unique name per test to avoid JCache name collisions
-        jCache   = manager.createCache("testMeta-" + UUID.randomUUID(), cfg);
-        r4jCache = Cache.of(jCache);
         cacheConfig = new CacheConfig();
-        service  = new CacheDemoService(r4jCache, jCache, client, cacheConfig);
+        // same ticker as the other tiers; maintenance (and so eviction counting) on the caller's thread
+        fresh = cacheConfig.buildMetadataCache(nanos::get, Runnable::run);
+        cache = fresh.synchronous();
+        service  = build(MetadataCacheProperties.defaults());
+    }
+
+    private CacheDemoService build(MetadataCacheProperties properties) {
+        return new CacheDemoService(fresh, staleTier, negativeTier, l2,
+                new CoalescingDownstreamClient(client, CoalescingProperties.disabled(), new SimpleMeterRegistry()),
+                cacheConfig, properties, cbRegistry, meterRegistry);
+    }
+
+    private CacheDemoService serveStale() {
+        service.shutdown();
+        service = build(new MetadataCacheProperties(true, Duration.ofMinutes(10), 20, 1, 4,
+                false, Path.of("unused"), DataSize.ofKilobytes(4), Duration.ofSeconds(10), 100));
+        return service;
+    }
+
+    private CacheDemoService withL2(Path file) {
+        service.shutdown();
+        l2 = MetadataFileStore.open(file, 4096);
+        service = build(new MetadataCacheProperties(false, Duration.ofMinutes(10), 0, 1, 4,
+                true, file, DataSize.ofKilobytes(4), Duration.ofSeconds(10), 100));
+        return service;
     }
 
     @AfterEach
-    void tearDown() {
-        jCache.close();
+    void tearDown() throws Exception {
+        service.shutdown();
+        l2.close();
     }
 
     @Test
@@ -67,7 +114,7 @@ class CacheDemoServiceTest {
     @Test
     @DisplayName("getMetadata on cache hit does not call client again")
     void getMetadata_cacheHit_doesNotCallClient() {
-        jCache.put("env", "demo");   // prime the cache
+        cache.put("env", "demo");   // prime the cache
 
         String result = service.getMetadata("env");
 
@@ -78,33 +125,38 @@ class CacheDemoServiceTest {
     @Test
     @DisplayName("getAllMetadata returns all five keys")
     void getAllMetadata_returnsAllFiveKeys() {
-        when(client.fetchMetadata(anyString())).thenReturn("val");
+        when(client.fetchMetadataBatch(anyCollection())).thenAnswer(inv -> {
+            Map<String, String> values = new LinkedHashMap<>();
+            inv.<Collection<String>>getArgument(0).forEach(k -> values.put(k, "val"));
+            return values;
+        });
 
         Map<String, String> result = service.getAllMetadata();
 
         assertThat(result).containsKeys("region", "env", "version", "owner", "sla");
         assertThat(result).hasSize(5);
+        verify(client, times(1)).fetchMetadataBatch(anyCollection());
     }
 
     @Test
-    @DisplayName("clearCache clears the JCache and resets counters")
+    @DisplayName("clearCache clears every tier and resets counters")
     void clearCache_resetsCounters() {
-        cacheConfig.cacheHits.set(10);
-        cacheConfig.cacheMisses.set(5);
-        jCache.put("region", "EU-WEST-1");
+        cacheConfig.cacheHits.add(10);
+        cacheConfig.cacheMisses.add(5);
+        cache.put("region", "EU-WEST-1");
 
         service.clearCache();
 
-        assertThat(jCache.get("region")).isNull();
-        assertThat(cacheConfig.cacheHits.get()).isEqualTo(0);
-        assertThat(cacheConfig.cacheMisses.get()).isEqualTo(0);
+        assertThat(cache.getIfPresent("region")).isNull();
+        assertThat(cacheConfig.cacheHits.sum()).isEqualTo(0);
+        assertThat(cacheConfig.cacheMisses.sum()).isEqualTo(0);
     }
 
     @Test
     @DisplayName("getStats returns hits and misses from CacheConfig")
     void getStats_returnsCurrentCounters() {
-        cacheConfig.cacheHits.set(7);
-        cacheConfig.cacheMisses.set(3);
+        cacheConfig.cacheHits.add(7);
+        cacheConfig.cacheMisses.add(3);
 
         Map<String, Long> stats = service.getStats();
 
@@ -112,13 +164,308 @@ class CacheDemoServiceTest {
         assertThat(stats.get("misses")).isEqualTo(3L);
     }
 
+    @Test
+    @DisplayName("Meters report the real entry count, the rolling hit ratio and load latency")
+    void meters_sizeHitRatioAndLoads() {
+        when(client.fetchMetadata("region")).thenReturn("EU-WEST-1");
+
+        service.getMetadata("region");   // miss, loaded
+        cache.put("env", "demo");
+        service.getAll(List.of("region", "env", "env"));   // two hits
+
+        assertThat(meterRegistry.get("metadata.cache.size").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("metadata.cache.hit.ratio").gauge().value()).isEqualTo(2.0 / 3);
+        assertThat(meterRegistry.get("metadata.cache.gets").tag("result", "miss").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("metadata.cache.load").tag("result", "success").timer().count()).isEqualTo(1);
+        assertThat(service.getStats()).containsEntry("size", 2L);
+    }
+
+    @Test
+    @DisplayName("Evictions are counted by cause; explicit invalidation is not an eviction")
+    void evictions_countedByCause() {
+        cache.put("region", "EU-WEST-1");
+        cache.put("env", "demo");
+        cache.invalidate("env");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.cleanUp();
+
+        assertThat(cacheConfig.cacheExpirations.sum()).isEqualTo(1);
+        assertThat(cacheConfig.cacheSizeEvictions.sum()).isZero();
+        assertThat(cacheConfig.entryCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent misses for one key wait for a single load")
+    void concurrentMisses_shareOneLoad() throws Exception {
+        when(client.fetchMetadata("region")).thenAnswer(inv -> {
+            Thread.sleep(200);
+            return "EU-WEST-1";
+        });
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(() -> service.getMetadata("region")));
+            }
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("EU-WEST-1");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        verify(client, times(1)).fetchMetadata("region");
+    }
+
+    @Test
+    @DisplayName("A failed load is timed separately")
+    void meters_failedLoadTimed() {
+        when(client.fetchMetadata("region")).thenThrow(new RuntimeException("downstream down"));
+
+        assertThatThrownBy(() -> service.getMetadata("region")).isInstanceOf(RuntimeException.class);
+
+        assertThat(meterRegistry.get("metadata.cache.load").tag("result", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("metadata.cache.load").tag("result", "success").timer().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("An unknown key is answered from the negative tier and never enters the positive cache")
+    void unknownKey_negativelyCached() {
+        when(client.fetchMetadata("nope")).thenReturn("unknown-nope");
+
+        assertThat(service.getMetadata("nope")).isEqualTo("unknown-nope");
+        assertThat(service.getMetadata("nope")).isEqualTo("unknown-nope");
+
+        verify(client, times(1)).fetchMetadata("nope");
+        assertThat(cache.getIfPresent("nope")).isNull();
+        assertThat(staleTier.getIfPresent("nope")).isNull();
+        assertThat(cacheConfig.cacheNegativeHits.sum()).isEqualTo(1);
+        assertThat(cacheConfig.cacheMisses.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An unknown key is looked up downstream again once its negative TTL has passed")
+    void unknownKey_expiresAfterNegativeTtl() {
+        when(client.fetchMetadata("nope")).thenReturn("unknown-nope");
+        service.getMetadata("nope");
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        service.getMetadata("nope");
+
+        verify(client, times(2)).fetchMetadata("nope");
+    }
+
+    @Test
+    @DisplayName("getAll keeps unknown keys out of the positive cache and answers them negatively next time")
+    void getAll_unknownKeys_negativelyCached() {
+        when(client.fetchMetadataBatch(List.of("region", "nope")))
+                .thenReturn(Map.of("region", "EU-WEST-1", "nope", "unknown-nope"));
+
+        Map<String, String> first = service.getAll(List.of("region", "nope"));
+        Map<String, String> again = service.getAll(List.of("region", "nope"));
+
+        assertThat(first).isEqualTo(again).containsEntry("nope", "unknown-nope");
+        assertThat(cache.getIfPresent("nope")).isNull();
+        assertThat(cache.getIfPresent("region")).isEqualTo("EU-WEST-1");
+        assertThat(cacheConfig.cacheNegativeHits.sum()).isEqualTo(1);
+        verify(client, times(1)).fetchMetadataBatch(anyCollection());
+    }
+
     @Test
     @DisplayName("getAllMetadata handles client error gracefully")
     void getAllMetadata_clientError_returnsErrorEntry() {
-        when(client.fetchMetadata(anyString())).thenThrow(new RuntimeException("downstream down"));
+        when(client.fetchMetadataBatch(anyCollection())).thenThrow(new RuntimeException("downstream down"));
 
         Map<String, String> result = service.getAllMetadata();
 
         assertThat(result).allSatisfy((k, v) -> assertThat(v).startsWith("ERROR:"));
     }
+
+    @Test
+    @DisplayName("getAll loads only the missing keys, in a single batched call")
+    void getAll_loadsMissingKeysInOneBatch() {
+        cache.put("region", "EU-WEST-1");
+        when(client.fetchMetadataBatch(List.of("env", "version"))).thenReturn(Map.of("env", "demo", "version", "2.0"));
+
+        Map<String, String> result = service.getAll(List.of("region", "env", "version"));
+
+        assertThat(result).containsExactly(
+                Map.entry("region", "EU-WEST-1"), Map.entry("env", "demo"), Map.entry("version", "2.0"));
+        assertThat(cache.getIfPresent("env")).isEqualTo("demo");
+        assertThat(cacheConfig.cacheHits.sum()).isEqualTo(1);
+        assertThat(cacheConfig.cacheMisses.sum()).isEqualTo(2);
+        verify(client, never()).fetchMetadata(anyString());
+    }
+
+    @Test
+    @DisplayName("getAll makes no downstream call when every key is cached")
+    void getAll_allCached_noDownstreamCall() {
+        cache.put("region", "EU-WEST-1");
+        cache.put("env", "demo");
+
+        assertThat(service.getAll(List.of("region", "env"))).hasSize(2);
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("getAllMetadata still shows cached keys when the batch for the others fails")
+    void getAllMetadata_batchFails_keepsCachedValues() {
+        cache.put("region", "EU-WEST-1");
+        when(client.fetchMetadataBatch(anyCollection())).thenThrow(new RuntimeException("downstream down"));
+
+        Map<String, String> result = service.getAllMetadata();
+
+        assertThat(result).containsEntry("region", "EU-WEST-1");
+        assertThat(result.get("env")).startsWith("ERROR:");
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: a hit in the last 20% of the TTL reloads the key in the background")
+    void hitNearExpiry_refreshedAhead() {
+        cache.put("region", "EU-WEST-1");
+        staleTier.put("region", new MetadataEntry("EU-WEST-1", Instant.now().minusSeconds(27)));
+        when(client.fetchMetadata("region")).thenReturn("EU-WEST-2");
+
+        assertThat(service.getMetadata("region")).isEqualTo("EU-WEST-1");
+
+        verify(client, timeout(2_000)).fetchMetadata("region");
+        assertThat(cacheConfig.cacheRefreshAheads.sum()).isEqualTo(1);
+        assertThat(cacheConfig.cacheHits.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Refresh-ahead: a hit early in the TTL does not reload")
+    void hitEarlyInTtl_notRefreshed() {
+        cache.put("region", "EU-WEST-1");
+        staleTier.put("region", new MetadataEntry("EU-WEST-1", Instant.now().minusSeconds(5)));
+
+        service.getMetadata("region");
+
+        assertThat(cacheConfig.cacheRefreshAheads.sum()).isZero();
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("Background refreshes are not attempted while the circuit is open")
+    void refresh_circuitOpen_skipsDownstream() {
+        cbRegistry.circuitBreaker("downstream").transitionToOpenState();
+
+        service.refresh(List.of("region"));
+
+        assertThat(cacheConfig.cacheRefreshFailures.sum()).isEqualTo(1);
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("L2: a loaded value is persisted and answers the next L1 miss without a downstream call")
+    void l2_missServedFromFile(@TempDir Path dir) {
+        withL2(dir.resolve("meta.bin"));
+        when(client.fetchMetadata("region")).thenReturn("EU-WEST-1");
+        service.getMetadata("region");
+        cache.invalidate("region");
+
+        assertThat(service.getMetadata("region")).isEqualTo("EU-WEST-1");
+
+        verify(client, times(1)).fetchMetadata("region");
+        assertThat(l2.get("region").value()).isEqualTo("EU-WEST-1");
+        assertThat(cacheConfig.cacheL2Hits.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("L2: L1 is rebuilt from the file at startup, skipping values past max-staleness")
+    void l2_warmUpRebuildsL1(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore previousRun = MetadataFileStore.open(file, 4096)) {
+            previousRun.put("region", new MetadataEntry("EU-WEST-1", Instant.now().minusSeconds(60)));
+            previousRun.put("env", new MetadataEntry("demo", Instant.now().minus(Duration.ofHours(1))));
+        }
+        withL2(file);
+
+        service.warmUp();
+
+        assertThat(cache.getIfPresent("region")).isEqualTo("EU-WEST-1");
+        assertThat(cache.getIfPresent("env")).isNull();
+        assertThat(service.getMetadata("region")).isEqualTo("EU-WEST-1");
+        assertThat(cacheConfig.cacheHits.sum()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("L2: clearCache also empties the file")
+    void l2_clearCache_emptiesFile(@TempDir Path dir) {
+        withL2(dir.resolve("meta.bin"));
+        l2.put("region", new MetadataEntry("EU-WEST-1", Instant.now()));
+
+        service.clearCache();
+
+        assertThat(l2.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Without serve-stale an expired entry is a miss and a downstream error surfaces")
+    void expired_staleDisabled_failsOnDownstreamError() {
+        when(client.fetchMetadata("region"))
+                .thenReturn("EU-WEST-1")
+                .thenThrow(new RuntimeException("downstream down"));
+        service.getMetadata("region");
+        cache.invalidate("region");   // fresh entry expired
+
+        assertThatThrownBy(() -> service.getMetadata("region")).hasRootCauseMessage("downstream down");
+    }
+
+    @Test
+    @DisplayName("Serve-stale: an expired entry is answered at once and refreshed in the background")
+    void expired_servesStaleAndRefreshes() {
+        serveStale();
+        when(client.fetchMetadata("region")).thenReturn("EU-WEST-1", "EU-WEST-2");
+        service.getMetadata("region");
+        cache.invalidate("region");
+
+        assertThat(service.getMetadata("region")).isEqualTo("EU-WEST-1");
+
+        verify(client, timeout(2_000).times(2)).fetchMetadata("region");
+        assertThat(cacheConfig.cacheStaleHits.sum()).isEqualTo(1);
+        assertThat(service.getStats()).containsEntry("staleHits", 1L);
+    }
+
+    @Test
+    @DisplayName("A successful refresh puts the new value into both tiers")
+    void refresh_success_updatesBothTiers() {
+        serveStale();
+        when(client.fetchMetadata("region")).thenReturn("EU-WEST-2");
+
+        service.refresh(List.of("region"));
+
+        assertThat(cache.getIfPresent("region")).isEqualTo("EU-WEST-2");
+        assertThat(staleTier.getIfPresent("region").value()).isEqualTo("EU-WEST-2");
+    }
+
+    @Test
+    @DisplayName("A failed refresh is counted and the stale value keeps being served")
+    void refresh_failure_keepsStaleValue() {
+        serveStale();
+        staleTier.put("region", new MetadataEntry("EU-WEST-1", Instant.now()));
+        when(client.fetchMetadata("region")).thenThrow(new RuntimeException("downstream down"));
+
+        service.refresh(List.of("region"));
+
+        assertThat(cacheConfig.cacheRefreshFailures.sum()).isEqualTo(1);
+        assertThat(cache.getIfPresent("region")).isNull();
+        assertThat(service.getMetadata("region")).isEqualTo("EU-WEST-1");
+    }
+
+    @Test
+    @DisplayName("A value older than max-staleness is no longer served")
+    void beyondMaxStaleness_miss() {
+        serveStale();
+        when(client.fetchMetadata("region"))
+                .thenReturn("EU-WEST-1")
+                .thenThrow(new RuntimeException("downstream down"));
+        service.getMetadata("region");
+        cache.invalidate("region");
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+
+        assertThatThrownBy(() -> service.getMetadata("region")).hasRootCauseMessage("downstream down");
+        assertThat(cacheConfig.cacheStaleHits.sum()).isZero();
+    }
 }
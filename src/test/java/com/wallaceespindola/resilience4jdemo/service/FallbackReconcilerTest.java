@@ -0,0 +1,198 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.SimulatedServerException;
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
+import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
+import com.wallaceespindola.resilience4jdemo.repo.FallbackPageRangeRepository;
+import com.wallaceespindola.resilience4jdemo.repo.TransferRecordRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FallbackReconciler Tests")
+class FallbackReconcilerTest {
+
+    @Mock private SimulatedDownstreamClient   client;
+    @Mock private FallbackPageRangeRepository fallbacks;
+    @Mock private TransferRecordRepository    repository;
+    @Mock private TransferService             transferService;
+    @Mock private PlatformTransactionManager  transactionManager;
+
+    private CircuitBreakerRegistry cbRegistry;
+    private FallbackReconciler     reconciler;
+
+    @BeforeEach
+    void setUp() {
+        cbRegistry = CircuitBreakerRegistry.ofDefaults();
+        RateLimiterRegistry rlRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1000)
+                .limitRefreshPeriod(Duration.ofMillis(100))
+                .timeoutDuration(Duration.ofMillis(50))
+                .build());
+        reconciler = new FallbackReconciler(client, fallbacks, repository, transferService,
+                transactionManager, TransferProperties.defaults(), cbRegistry, rlRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconciler.shutdown();
+    }
+
+    private static FallbackPageRange range(String batchId, int firstPage, int pageCount) {
+        return FallbackPageRange.builder()
+                .id(1L).batchId(batchId).firstPage(firstPage).pageCount(pageCount).pageSize(2)
+                .reason("CIRCUIT_OPEN").recordedAt(Instant.now())
+                .build();
+    }
+
+    /** Lets the reconciler claim every batch and reload {@code range} as stored. */
+    private void claimable(FallbackPageRange range) {
+        when(transferService.claim(any(), any())).thenReturn(true);
+        when(fallbacks.findById(range.getId())).thenReturn(Optional.of(range));
+    }
+
+    private static List<RecordDto> page(int page) {
+        return List.of(new RecordDto("EXT-%d-0".formatted(page), "N", "CAT", "1.00", page, 0),
+                       new RecordDto("EXT-%d-1".formatted(page), "N", "CAT", "1.00", page, 1));
+    }
+
+    @Test
+    @DisplayName("Every page of a range is re-fetched, stored as real records and the range removed")
+    void redrive_recoversWholeRange() {
+        FallbackPageRange range = range("BATCH-A", 3, 2);
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of(range));
+        claimable(range);
+        when(client.fetchPage(anyInt(), eq(2))).thenAnswer(inv -> page(inv.getArgument(0)));
+
+        int recovered = reconciler.redriveRecent();
+
+        assertThat(recovered).isEqualTo(2);
+        verify(client).fetchPage(3, 2);
+        verify(client).fetchPage(4, 2);
+        verify(repository).saveAll(argThat((List<TransferRecord> records) -> records.size() == 2
+                && records.stream().allMatch(r -> r.getSourcePage() == 4 && "inserted".equals(r.getStatus()))));
+        verify(fallbacks).save(range);
+        verify(fallbacks).delete(range);
+        verify(transferService, times(3)).claim("BATCH-A", reconciler);
+        verify(transferService, times(3)).release("BATCH-A", reconciler);
+    }
+
+    @Test
+    @DisplayName("A failed re-fetch keeps the remaining pages in the ledger")
+    void redrive_failure_shrinksRange() {
+        FallbackPageRange range = range("BATCH-A", 0, 3);
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of(range));
+        claimable(range);
+        when(client.fetchPage(0, 2)).thenReturn(page(0));
+        when(client.fetchPage(1, 2)).thenThrow(new SimulatedServerException("still flaky"));
+
+        int recovered = reconciler.redriveRecent();
+
+        assertThat(recovered).isEqualTo(1);
+        assertThat(range.getFirstPage()).isEqualTo(1);
+        assertThat(range.getPageCount()).isEqualTo(2);
+        verify(fallbacks).save(range);
+        verify(fallbacks, never()).delete(any());
+        verify(client, never()).fetchPage(eq(2), anyInt());
+    }
+
+    @Test
+    @DisplayName("Batches that are still transferring are left alone")
+    void redrive_skipsActiveBatches() {
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of(range("BATCH-LIVE", 0, 2)));
+        when(transferService.claim("BATCH-LIVE", reconciler)).thenReturn(false);
+
+        assertThat(reconciler.redriveRecent()).isZero();
+        verifyNoInteractions(client, repository);
+        verify(fallbacks, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("A resume that deletes the range during a re-drive waits for the page and is never overwritten")
+    void redrive_resumeDeletesRange_isNotReinserted() {
+        FallbackPageRange range = range("BATCH-A", 0, 3);
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of(range));
+        when(fallbacks.findById(range.getId())).thenReturn(Optional.of(range), Optional.empty());
+        // The claim behaves like TransferService's: one owner per batch
+        Map<String, Object> claims = new ConcurrentHashMap<>();
+        when(transferService.claim(any(), any()))
+                .thenAnswer(inv -> claims.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null);
+        Object resume = new Object();
+        AtomicBoolean resumed = new AtomicBoolean();
+        doAnswer(inv -> {
+            claims.remove(inv.getArgument(0), inv.getArgument(1));
+            // As soon as the reconciler lets go, the waiting resume claims the batch and deletes the range
+            if (inv.getArgument(1) == reconciler && resumed.compareAndSet(false, true)) {
+                assertThat(transferService.claim("BATCH-A", resume)).isTrue();
+                claims.remove("BATCH-A", resume);
+            }
+            return null;
+        }).when(transferService).release(any(), any());
+        when(client.fetchPage(0, 2)).thenAnswer(inv -> {
+            // A resume arriving mid-fetch cannot claim the batch until this page is committed
+            assertThat(transferService.claim("BATCH-A", resume)).isFalse();
+            return page(0);
+        });
+
+        int recovered = reconciler.redriveRecent();
+
+        assertThat(recovered).isEqualTo(1);
+        assertThat(resumed).isTrue();
+        verify(client, never()).fetchPage(eq(1), anyInt());
+        verify(repository, times(1)).saveAll(any());
+        verify(fallbacks, times(1)).save(range);
+        verify(fallbacks, never()).delete(any());
+    }
+
+    @Test
+    @DisplayName("Nothing is re-fetched while the circuit is not CLOSED")
+    void redrive_openCircuit_doesNothing() {
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of(range("BATCH-A", 0, 2)));
+        cbRegistry.circuitBreaker("downstream").transitionToOpenState();
+
+        assertThat(reconciler.redriveRecent()).isZero();
+        verifyNoInteractions(client, repository);
+    }
+
+    @Test
+    @DisplayName("A transition to CLOSED starts a background re-drive")
+    void circuitClosing_triggersRedrive() {
+        when(fallbacks.findByRecordedAtAfterOrderByIdAsc(any())).thenReturn(List.of());
+        CircuitBreaker cb = cbRegistry.circuitBreaker("downstream");
+
+        cb.transitionToOpenState();
+        cb.transitionToHalfOpenState();
+        verifyNoInteractions(fallbacks);
+        cb.transitionToClosedState();
+
+        verify(fallbacks, timeout(2_000)).findByRecordedAtAfterOrderByIdAsc(any());
+    }
+}
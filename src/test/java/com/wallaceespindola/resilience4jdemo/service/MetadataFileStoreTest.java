@@ -0,0 +1,118 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.dto.MetadataEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("MetadataFileStore Tests")
+class MetadataFileStoreTest {
+
+    private static final Instant LOADED = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @TempDir Path dir;
+
+    @Test
+    @DisplayName("Entries survive closing and reopening the file")
+    void reopen_restoresEntries() throws IOException {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            store.put("region", new MetadataEntry("EU-WEST-1", LOADED));
+            store.put("owner", new MetadataEntry("équipe-plateforme", LOADED));
+        }
+
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("region")).isEqualTo(new MetadataEntry("EU-WEST-1", LOADED));
+            assertThat(store.get("owner").value()).isEqualTo("équipe-plateforme");
+        }
+    }
+
+    @Test
+    @DisplayName("The latest record for a key wins")
+    void laterRecord_supersedesEarlier() throws IOException {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            store.put("env", new MetadataEntry("demo", LOADED));
+            store.put("env", new MetadataEntry("prod", LOADED.plusSeconds(1)));
+        }
+
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get("env").value()).isEqualTo("prod");
+        }
+    }
+
+    @Test
+    @DisplayName("A full file is compacted down to the live records")
+    void fullFile_compacted() throws IOException {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore store = MetadataFileStore.open(file, 1024)) {
+            // ~30 bytes per record: 100 rewrites of the same two keys overflow 1KB many times
+            for (int i = 0; i < 100; i++) {
+                store.put("region", new MetadataEntry("EU-" + i, LOADED));
+                store.put("env", new MetadataEntry("env-" + i, LOADED));
+            }
+        }
+
+        try (MetadataFileStore store = MetadataFileStore.open(file, 1024)) {
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.get("region").value()).isEqualTo("EU-99");
+            assertThat(store.get("env").value()).isEqualTo("env-99");
+        }
+    }
+
+    @Test
+    @DisplayName("A record torn mid-write reads as the end of the file")
+    void tornRecord_ignored() throws IOException {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            store.put("region", new MetadataEntry("EU-WEST-1", LOADED));
+        }
+        // a second record whose key length claims more bytes than the file has
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.allocate(8).putInt(Integer.MAX_VALUE).putInt(3).flip(), 16 + 6 + 9);
+        }
+
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            assertThat(store.size()).isEqualTo(1);
+            assertThat(store.get("region").value()).isEqualTo("EU-WEST-1");
+        }
+    }
+
+    @Test
+    @DisplayName("clear() forgets everything, also after reopening")
+    void clear_emptiesStore() throws IOException {
+        Path file = dir.resolve("meta.bin");
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            store.put("region", new MetadataEntry("EU-WEST-1", LOADED));
+            store.put("env", new MetadataEntry("demo", LOADED));
+            store.clear();
+            store.put("sla", new MetadataEntry("99.9%", LOADED));
+        }
+
+        try (MetadataFileStore store = MetadataFileStore.open(file, 4096)) {
+            assertThat(store.entries()).containsOnlyKeys("sla");
+        }
+    }
+
+    @Test
+    @DisplayName("none() keeps nothing")
+    void none_keepsNothing() {
+        MetadataFileStore store = MetadataFileStore.none();
+        store.put("region", new MetadataEntry("EU-WEST-1", LOADED));
+
+        assertThat(store.isEnabled()).isFalse();
+        assertThat(store.get("region")).isNull();
+    }
+}
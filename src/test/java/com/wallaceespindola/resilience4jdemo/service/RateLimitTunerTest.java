@@ -0,0 +1,162 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.RateLimitTuningProperties;
+import com.wallaceespindola.resilience4jdemo.dto.RateLimitDecision;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RateLimitTuner Tests")
+class RateLimitTunerTest {
+
+    /** floor 2, ceiling 12, +5 / ×0.5; the tick is far away so tests drive tune() themselves. */
+    private static final RateLimitTuningProperties MANUAL =
+            new RateLimitTuningProperties(true, 2, 12, Duration.ofHours(1), 5, 0.5, 25f, 50f, 3);
+
+    private RateLimiterRegistry rlRegistry;
+    private CircuitBreaker      cb;
+    private RateLimitTuner      tuner;
+
+    @BeforeEach
+    void setUp() {
+        rlRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(5)
+                .limitRefreshPeriod(Duration.ofSeconds(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        CircuitBreakerRegistry cbRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(90)
+                .slowCallDurationThreshold(Duration.ofSeconds(1))
+                .slowCallRateThreshold(100)
+                .build());
+        cb    = cbRegistry.circuitBreaker("downstream");
+        tuner = new RateLimitTuner(rlRegistry, cbRegistry, MANUAL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tuner.shutdown();
+    }
+
+    private void record(int successes, int failures, int slow) {
+        for (int i = 0; i < successes; i++) cb.onSuccess(1, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < failures; i++)  cb.onError(1, TimeUnit.MILLISECONDS, new IllegalStateException("boom"));
+        for (int i = 0; i < slow; i++)      cb.onSuccess(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("A healthy downstream raises the limit step by step up to the ceiling")
+    void healthy_increasesUpToCeiling() {
+        record(4, 0, 0);
+
+        RateLimitDecision first = tuner.tune();
+        record(4, 0, 0);
+        tuner.tune();
+
+        assertThat(first.action()).isEqualTo("INCREASE");
+        assertThat(first.fromLimit()).isEqualTo(5);
+        assertThat(first.toLimit()).isEqualTo(10);
+        assertThat(tuner.currentLimit()).isEqualTo(12);
+        assertThat(rlRegistry.rateLimiter("downstream").getRateLimiterConfig().getLimitForPeriod()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("A failure rate above the threshold halves the limit, never below the floor")
+    void failures_decreaseToFloor() {
+        record(2, 2, 0);
+
+        RateLimitDecision decision = tuner.tune();
+        tuner.tune();
+
+        assertThat(decision.action()).isEqualTo("DECREASE");
+        assertThat(decision.toLimit()).isEqualTo(2);
+        assertThat(decision.failureRate()).isEqualTo(50f);
+        assertThat(decision.reason()).contains("failure rate");
+        assertThat(tuner.currentLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A slow-call rate above the threshold backs off")
+    void slowCalls_decrease() {
+        record(1, 0, 3);
+
+        RateLimitDecision decision = tuner.tune();
+
+        assertThat(decision.action()).isEqualTo("DECREASE");
+        assertThat(decision.reason()).contains("slow-call rate");
+        assertThat(tuner.currentLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Without enough calls for a reading the limit is held")
+    void notEnoughCalls_holds() {
+        record(2, 0, 0);
+
+        RateLimitDecision decision = tuner.tune();
+
+        assertThat(decision.action()).isEqualTo("HOLD");
+        assertThat(decision.failureRate()).isEqualTo(-1f);
+        assertThat(tuner.currentLimit()).isEqualTo(5);
+        assertThat(tuner.recentAdjustments()).isEmpty();
+        assertThat(tuner.lastDecision()).isEqualTo(decision);
+    }
+
+    @Test
+    @DisplayName("A window with no new calls since the last tick holds instead of re-reading stale rates")
+    void noNewCalls_holds() {
+        record(4, 0, 0);
+        tuner.tune();                 // 5 → 10
+
+        RateLimitDecision idle = tuner.tune();
+
+        assertThat(idle.action()).isEqualTo("HOLD");
+        assertThat(idle.failureRate()).isZero();
+        assertThat(idle.reason()).contains("no calls");
+        assertThat(tuner.currentLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("An open circuit drops the limit straight to the floor")
+    void openCircuit_dropsToFloor() {
+        cb.transitionToOpenState();
+
+        RateLimitDecision decision = tuner.tune();
+
+        assertThat(decision.circuitState()).isEqualTo("OPEN");
+        assertThat(decision.toLimit()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Only limit changes are kept as adjustments, bounded by history")
+    void adjustments_boundedHistory() {
+        record(4, 0, 0);
+        tuner.tune();                 // 5 → 10
+        cb.transitionToOpenState();
+        tuner.tune();                 // 10 → 2
+        tuner.tune();                 // hold at 2
+        cb.transitionToHalfOpenState();
+        cb.transitionToClosedState();
+        record(4, 0, 0);
+        tuner.tune();                 // 2 → 7
+        record(4, 0, 0);
+        tuner.tune();                 // 7 → 12
+
+        assertThat(tuner.recentAdjustments())
+                .hasSize(3)
+                .extracting(RateLimitDecision::toLimit)
+                .containsExactly(2, 7, 12);
+    }
+}
@@ -1,11 +1,14 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -37,7 +40,9 @@ class RateLimiterDemoServiceTest {
                 .build();
         CircuitBreakerRegistry cbRegistry =
                 CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults());
-        service = new RateLimiterDemoService(RateLimiterRegistry.of(config), client, cbRegistry);
+        service = new RateLimiterDemoService(RateLimiterRegistry.of(config),
+                new CoalescingDownstreamClient(client, CoalescingProperties.disabled(), new SimpleMeterRegistry()),
+                cbRegistry);
     }
 
     @Test
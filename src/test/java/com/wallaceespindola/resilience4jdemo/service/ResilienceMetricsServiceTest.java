@@ -1,15 +1,24 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.wallaceespindola.resilience4jdemo.client.CoalescingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.HedgingDownstreamClient;
+import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.config.CacheConfig;
+import com.wallaceespindola.resilience4jdemo.config.CoalescingProperties;
+import com.wallaceespindola.resilience4jdemo.config.HedgingProperties;
+import com.wallaceespindola.resilience4jdemo.config.RateLimitTuningProperties;
 import com.wallaceespindola.resilience4jdemo.dto.ResilienceMetricsDto;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +26,7 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 @DisplayName("ResilienceMetricsService Tests")
 class ResilienceMetricsServiceTest {
@@ -39,8 +49,23 @@ class ResilienceMetricsServiceTest {
         BulkheadRegistry bhRegistry =
                 BulkheadRegistry.of(BulkheadConfig.ofDefaults());
 
+        ThreadPoolBulkheadRegistry tpbRegistry =
+                ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom()
+                        .coreThreadPoolSize(2)
+                        .maxThreadPoolSize(4)
+                        .queueCapacity(2)
+                        .build());
+
+        RateLimitTuner tuner = new RateLimitTuner(rlRegistry, cbRegistry, RateLimitTuningProperties.disabled());
+
+        HedgingDownstreamClient hedging = new HedgingDownstreamClient(
+                mock(SimulatedDownstreamClient.class), HedgingProperties.disabled(), new SimpleMeterRegistry());
+        CoalescingDownstreamClient coalescing = new CoalescingDownstreamClient(
+                mock(SimulatedDownstreamClient.class), CoalescingProperties.disabled(), new SimpleMeterRegistry());
+
         cacheConfig = new CacheConfig();
-        service = new ResilienceMetricsService(cbRegistry, retryRegistry, rlRegistry, bhRegistry, cacheConfig);
+        service = new ResilienceMetricsService(cbRegistry, retryRegistry, rlRegistry, bhRegistry,
+                tpbRegistry, tuner, hedging, coalescing, cacheConfig);
     }
 
     @Test
@@ -52,7 +77,11 @@ class ResilienceMetricsServiceTest {
         assertThat(dto.circuitBreaker()).isNotNull();
         assertThat(dto.retry()).isNotNull();
         assertThat(dto.rateLimiter()).isNotNull();
+        assertThat(dto.rateLimitTuning()).isNotNull();
         assertThat(dto.bulkhead()).isNotNull();
+        assertThat(dto.threadPoolBulkhead()).isNotNull();
+        assertThat(dto.hedging()).isNotNull();
+        assertThat(dto.coalescing()).isNotNull();
         assertThat(dto.cache()).isNotNull();
         assertThat(dto.timestamp()).isNotBlank();
     }
@@ -64,15 +93,27 @@ class ResilienceMetricsServiceTest {
     }
 
     @Test
-    @DisplayName("Cache counters reflect CacheConfig atomics")
+    @DisplayName("Cache counters reflect CacheConfig counters")
     void snapshot_cacheCounters_reflectCacheConfig() {
-        cacheConfig.cacheHits.set(5);
-        cacheConfig.cacheMisses.set(3);
+        cacheConfig.recordHits(5);
+        cacheConfig.recordMisses(3);
+        cacheConfig.recordStaleHits(2);
+        cacheConfig.cacheRefreshFailures.add(1);
+        cacheConfig.cacheRefreshAheads.add(4);
+        cacheConfig.cacheL2Hits.add(6);
+        cacheConfig.cacheSizeEvictions.add(7);
 
         ResilienceMetricsDto dto = service.snapshot();
 
         assertThat(dto.cache().hits()).isEqualTo(5);
         assertThat(dto.cache().misses()).isEqualTo(3);
+        assertThat(dto.cache().staleHits()).isEqualTo(2);
+        assertThat(dto.cache().refreshFailures()).isEqualTo(1);
+        assertThat(dto.cache().refreshAheads()).isEqualTo(4);
+        assertThat(dto.cache().l2Hits()).isEqualTo(6);
+        assertThat(dto.cache().sizeEvictions()).isEqualTo(7);
+        assertThat(dto.cache().hitRatio()).isEqualTo(0.7);
+        assertThat(dto.cache().size()).as("entries, not lookups").isZero();
     }
 
     @Test
@@ -80,4 +121,51 @@ class ResilienceMetricsServiceTest {
     void snapshot_rateLimiterPermits_positive() {
         assertThat(service.snapshot().rateLimiter().availablePermissions()).isGreaterThan(0);
     }
+
+    @Test
+    @DisplayName("Thread-pool bulkhead metrics reflect the transfer pool configuration")
+    void snapshot_threadPoolBulkhead_reflectsConfig() {
+        ResilienceMetricsDto.ThreadPoolBulkheadMetrics tp = service.snapshot().threadPoolBulkhead();
+
+        assertThat(tp.corePoolSize()).isEqualTo(2);
+        assertThat(tp.maxPoolSize()).isEqualTo(4);
+        assertThat(tp.queueCapacity()).isEqualTo(2);
+        assertThat(tp.queueDepth()).isZero();
+        assertThat(tp.activeThreads()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rate-limit tuning reports the live limitForPeriod and its bounds")
+    void snapshot_rateLimitTuning_reportsLimit() {
+        ResilienceMetricsDto.RateLimitTuningMetrics tuning = service.snapshot().rateLimitTuning();
+
+        assertThat(tuning.enabled()).isFalse();
+        assertThat(tuning.limitForPeriod()).isEqualTo(10);
+        assertThat(tuning.floor()).isEqualTo(1);
+        assertThat(tuning.ceiling()).isEqualTo(50);
+        assertThat(tuning.lastDecision()).isNull();
+        assertThat(tuning.recentAdjustments()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Hedging metrics show a disabled, warming-up hedger with no traffic")
+    void snapshot_hedging_disabledByDefault() {
+        ResilienceMetricsDto.HedgingMetrics hedging = service.snapshot().hedging();
+
+        assertThat(hedging.enabled()).isFalse();
+        assertThat(hedging.delayMs()).isEqualTo(-1);
+        assertThat(hedging.requests()).isZero();
+        assertThat(hedging.hedged()).isZero();
+    }
+
+    @Test
+    @DisplayName("Coalescing metrics show a disabled layer with nothing in flight")
+    void snapshot_coalescing_disabledByDefault() {
+        ResilienceMetricsDto.CoalescingMetrics coalescing = service.snapshot().coalescing();
+
+        assertThat(coalescing.enabled()).isFalse();
+        assertThat(coalescing.calls()).isZero();
+        assertThat(coalescing.coalesced()).isZero();
+        assertThat(coalescing.inFlight()).isZero();
+    }
 }
@@ -0,0 +1,291 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.client.SimulatedServerException;
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties.Layer;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ResiliencePipeline Tests")
+class ResiliencePipelineTest {
+
+    private final CircuitBreaker cb = CircuitBreaker.of("downstream", CircuitBreakerConfig.custom()
+            .slidingWindowSize(10)
+            .minimumNumberOfCalls(10)
+            .build());
+    private final Retry retry = Retry.of("downstream", RetryConfig.custom()
+            .maxAttempts(3)
+            .waitDuration(Duration.ofMillis(1))
+            .build());
+    private final ThreadPoolBulkhead pool = ThreadPoolBulkhead.of("transfer", ThreadPoolBulkheadConfig.custom()
+            .coreThreadPoolSize(1)
+            .maxThreadPoolSize(1)
+            .queueCapacity(1)
+            .build());
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+            BulkheadRegistry.of(BulkheadConfig.custom().maxConcurrentCalls(2).build()),
+            AdaptiveConcurrencyProperties.disabled(), new SimpleMeterRegistry());
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        limiter.shutdown();
+        pool.close();
+    }
+
+    private String failing(String input) {
+        calls.incrementAndGet();
+        throw new SimulatedServerException("HTTP 503 for " + input);
+    }
+
+    private ResiliencePipeline<String, String> cbAndRetry(List<Layer> order) {
+        return ResiliencePipeline.<String, String>builder("downstream")
+                .circuitBreaker(cb)
+                .retry(retry)
+                .build(order, this::failing);
+    }
+
+    @Test
+    @DisplayName("Retry inside the CircuitBreaker: the breaker records one failure per call")
+    void retryInsideCircuitBreaker_oneFailurePerCall() {
+        ResiliencePipeline<String, String> pipeline = cbAndRetry(List.of(Layer.CIRCUIT_BREAKER, Layer.RETRY));
+
+        assertThatThrownBy(() -> pipeline.execute("p1")).isInstanceOf(SimulatedServerException.class);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(cb.getMetrics().getNumberOfFailedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Retry outside the CircuitBreaker: the breaker records every attempt")
+    void retryOutsideCircuitBreaker_oneFailurePerAttempt() {
+        ResiliencePipeline<String, String> pipeline = cbAndRetry(List.of(Layer.RETRY, Layer.CIRCUIT_BREAKER));
+
+        assertThatThrownBy(() -> pipeline.execute("p1")).isInstanceOf(SimulatedServerException.class);
+
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(cb.getMetrics().getNumberOfFailedCalls()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("An open breaker rejects the call without reaching the downstream")
+    void openCircuitBreaker_rejects() {
+        cb.transitionToOpenState();
+        ResiliencePipeline<String, String> pipeline = cbAndRetry(List.of(Layer.CIRCUIT_BREAKER, Layer.RETRY));
+
+        assertThatThrownBy(() -> pipeline.execute("p1")).isInstanceOf(CallNotPermittedException.class);
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("The attempt listener sees every attempt of the call with its input")
+    void attemptListener_seesEveryAttempt() throws Exception {
+        List<String> attempts = new ArrayList<>();
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .retry(retry, (input, attempt) -> attempts.add(input + "#" + attempt))
+                .build(List.of(Layer.RETRY), input -> attempts.size() < 3 ? failing(input) : "ok");
+
+        assertThat(pipeline.execute("p7")).isEqualTo("ok");
+        assertThat(attempts).containsExactly("p7#1", "p7#2", "p7#3");
+    }
+
+    @Test
+    @DisplayName("An interrupted call is not retried")
+    void interruptedCall_notRetried() {
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .retry(retry)
+                .build(List.of(Layer.RETRY), input -> {
+                    calls.incrementAndGet();
+                    throw new InterruptedException("cancelled");
+                });
+
+        assertThatThrownBy(() -> pipeline.execute("p1")).isInstanceOf(InterruptedException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failure raised with the interrupt flag set is not retried")
+    void interruptFlagSet_notRetried() {
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .retry(retry)
+                .build(List.of(Layer.RETRY), input -> {
+                    calls.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("cancelled");
+                });
+
+        try {
+            assertThatThrownBy(() -> pipeline.execute("p1")).isInstanceOf(CancellationException.class);
+            assertThat(calls.get()).isEqualTo(1);
+        } finally {
+            Thread.interrupted(); // leave the test thread clean
+        }
+    }
+
+    @Test
+    @DisplayName("The same pipeline serves many calls, each with its own input")
+    void pipeline_isReusable() throws Exception {
+        ResiliencePipeline<Integer, Integer> pipeline = ResiliencePipeline.<Integer, Integer>builder("downstream")
+                .rateLimiter(RateLimiter.ofDefaults("downstream"))
+                .bulkhead(limiter)
+                .circuitBreaker(cb)
+                .retry(retry)
+                .build(ResiliencePipelineProperties.DEFAULT_ORDER.subList(0, 4), page -> page * 10);
+
+        assertThat(pipeline.execute(1)).isEqualTo(10);
+        assertThat(pipeline.execute(2)).isEqualTo(20);
+        assertThat(cb.getMetrics().getNumberOfSuccessfulCalls()).isEqualTo(2);
+        assertThat(limiter.bulkhead().getMetrics().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A plain semaphore Bulkhead rejects calls beyond its limit and frees permits afterwards")
+    void plainBulkhead_rejectsWhenFull() throws Exception {
+        Bulkhead bulkhead = Bulkhead.of("downstream", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        List<Throwable> nested = new ArrayList<>();
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .bulkhead(bulkhead)
+                .build(List.of(Layer.BULKHEAD), input -> input);
+        ResiliencePipeline<String, String> outer = ResiliencePipeline.<String, String>builder("downstream")
+                .bulkhead(bulkhead)
+                .build(List.of(Layer.BULKHEAD), input -> {
+                    try {
+                        return pipeline.execute(input);
+                    } catch (BulkheadFullException e) {
+                        nested.add(e);
+                        return "rejected";
+                    }
+                });
+
+        assertThat(outer.execute("a")).isEqualTo("rejected");
+        assertThat(nested).hasSize(1);
+        assertThat(pipeline.execute("b")).isEqualTo("b");
+        assertThat(bulkhead.getMetrics().getAvailableConcurrentCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A rate limiter without permits rejects the call")
+    void rateLimiter_rejects() throws Exception {
+        RateLimiter rateLimiter = RateLimiter.of("downstream", RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(1))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .rateLimiter(rateLimiter)
+                .build(List.of(Layer.RATE_LIMITER), input -> input);
+
+        assertThat(pipeline.execute("a")).isEqualTo("a");
+        assertThatThrownBy(() -> pipeline.execute("b")).isInstanceOf(RequestNotPermitted.class);
+    }
+
+    @Test
+    @DisplayName("The TimeLimiter runs the inner layers on the pool and times them out")
+    void timeLimiter_runsOnPoolAndTimesOut() throws Exception {
+        TimeLimiter timeLimiter = TimeLimiter.of("downstream", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(50))
+                .build());
+        ResiliencePipeline<Long, String> pipeline = ResiliencePipeline.<Long, String>builder("downstream")
+                .timeLimiter(timeLimiter, pool)
+                .build(List.of(Layer.TIME_LIMITER), sleepMs -> {
+                    Thread.sleep(sleepMs);
+                    return Thread.currentThread().getName();
+                });
+
+        assertThat(pipeline.execute(0L)).isNotEqualTo(Thread.currentThread().getName());
+        assertThatThrownBy(() -> pipeline.execute(1_000L)).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    @DisplayName("With cancelRunningFuture a timed-out call interrupts its pool thread")
+    void timeLimiter_cancelInterruptsWorker() throws Exception {
+        TimeLimiter timeLimiter = TimeLimiter.of("downstream", TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(50))
+                .cancelRunningFuture(true)
+                .build());
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ResiliencePipeline<Long, String> pipeline = ResiliencePipeline.<Long, String>builder("downstream")
+                .timeLimiter(timeLimiter, pool)
+                .build(List.of(Layer.TIME_LIMITER), sleepMs -> {
+                    try {
+                        Thread.sleep(sleepMs);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                        throw e;
+                    }
+                    return "done";
+                });
+
+        assertThatThrownBy(() -> pipeline.execute(5_000L)).isInstanceOf(TimeoutException.class);
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Failures from the pool are rethrown unwrapped")
+    void timeLimiter_unwrapsFailure() {
+        ResiliencePipeline<String, String> pipeline = ResiliencePipeline.<String, String>builder("downstream")
+                .timeLimiter(TimeLimiter.ofDefaults("downstream"), pool)
+                .build(List.of(Layer.TIME_LIMITER), this::failing);
+
+        assertThatThrownBy(() -> pipeline.execute("p1"))
+                .isInstanceOf(SimulatedServerException.class)
+                .hasMessage("HTTP 503 for p1");
+    }
+
+    @Test
+    @DisplayName("A layer listed without its instance fails the build")
+    void missingInstance_failsBuild() {
+        assertThatThrownBy(() -> ResiliencePipeline.<String, String>builder("downstream")
+                .retry(retry)
+                .build(List.of(Layer.RETRY, Layer.CIRCUIT_BREAKER), input -> input))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("CIRCUIT_BREAKER");
+    }
+
+    @Test
+    @DisplayName("A layer listed twice is rejected by the properties")
+    void duplicateLayer_rejected() {
+        assertThatThrownBy(() -> new ResiliencePipelineProperties(
+                Map.of("downstream", List.of(Layer.RETRY, Layer.CIRCUIT_BREAKER, Layer.RETRY))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("RETRY");
+        assertThat(ResiliencePipelineProperties.defaults().orderFor("downstream"))
+                .isEqualTo(ResiliencePipelineProperties.DEFAULT_ORDER);
+    }
+}
@@ -5,6 +5,7 @@ import com.wallaceespindola.resilience4jdemo.client.SimulatedServerException;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.EventProcessor;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +30,7 @@ class RetryDemoServiceTest {
 
     private RetryDemoService     service;
     private CircuitBreakerRegistry cbRegistry;
+    private RetryRegistry          retryRegistry;
 
     @BeforeEach
     void setUp() {
@@ -39,7 +41,8 @@ class RetryDemoServiceTest {
                 .build();
 
         cbRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults());
-        service = new RetryDemoService(RetryRegistry.of(retryConfig), client, cbRegistry);
+        retryRegistry = RetryRegistry.of(retryConfig);
+        service = new RetryDemoService(retryRegistry, client, cbRegistry);
     }
 
     @Test
@@ -94,4 +97,31 @@ class RetryDemoServiceTest {
         assertThat(result.timestamp()).isNotBlank();
         assertThat(result.elapsedMs()).isGreaterThanOrEqualTo(0);
     }
+
+    @Test
+    @DisplayName("Attempts are counted per call and no listener is left on the shared Retry")
+    void call_countsAttemptsPerCall_withoutLeakingListeners() {
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenThrow(new SimulatedServerException("Transient"))
+                .thenReturn(List.of());
+
+        DemoCallResult first  = service.call();
+        DemoCallResult second = service.call();
+
+        assertThat(first.attemptNumber()).isEqualTo(2);
+        assertThat(second.attemptNumber()).isEqualTo(1);
+        EventProcessor<?> publisher = (EventProcessor<?>) retryRegistry.retry("downstream").getEventPublisher();
+        assertThat(publisher.hasConsumers()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Fallback reports the attempts actually made")
+    void call_fallback_reportsAttemptsMade() {
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenThrow(new SimulatedServerException("Permanent failure"));
+
+        DemoCallResult result = service.call();
+
+        assertThat(result.attemptNumber()).isEqualTo(3);
+    }
 }
@@ -2,6 +2,8 @@ package com.wallaceespindola.resilience4jdemo.service;
 
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.dto.DemoCallResult;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
@@ -15,6 +17,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -36,7 +41,13 @@ class TimeLimiterDemoServiceTest {
                 .build();
         CircuitBreakerRegistry cbRegistry =
                 CircuitBreakerRegistry.of(CircuitBreakerConfig.ofDefaults());
-        service = new TimeLimiterDemoService(TimeLimiterRegistry.of(config), client, cbRegistry);
+        ThreadPoolBulkheadRegistry poolRegistry = ThreadPoolBulkheadRegistry.of(
+                ThreadPoolBulkheadConfig.custom()
+                        .coreThreadPoolSize(1)
+                        .maxThreadPoolSize(2)
+                        .queueCapacity(1)
+                        .build());
+        service = new TimeLimiterDemoService(TimeLimiterRegistry.of(config), client, cbRegistry, poolRegistry);
     }
 
     @Test
@@ -65,6 +76,26 @@ class TimeLimiterDemoServiceTest {
         assertThat(result.elapsedMs()).isGreaterThanOrEqualTo(0);
     }
 
+    @Test
+    @DisplayName("A timed-out call interrupts the pool thread instead of letting it run on")
+    void call_timeout_interruptsWorker() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return List.of();
+        });
+
+        DemoCallResult result = service.call();
+
+        assertThat(result.outcome()).isEqualTo("timeout");
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
     @Test
     @DisplayName("Successful call has non-null timestamp")
     void call_hasTimestamp() {
@@ -74,4 +105,18 @@ class TimeLimiterDemoServiceTest {
 
         assertThat(result.timestamp()).isNotBlank();
     }
+
+    @Test
+    @DisplayName("Downstream call runs on the transfer thread-pool bulkhead, not the common pool")
+    void call_runsOnThreadPoolBulkhead() {
+        AtomicReference<String> threadName = new AtomicReference<>();
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            threadName.set(Thread.currentThread().getName());
+            return List.of();
+        });
+
+        service.call();
+
+        assertThat(threadName.get()).contains("transfer").doesNotContain("ForkJoinPool");
+    }
 }
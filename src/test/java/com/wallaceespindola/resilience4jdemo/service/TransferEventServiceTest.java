@@ -0,0 +1,149 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferEventService Tests")
+class TransferEventServiceTest {
+
+    @Mock private TransferJobService jobService;
+
+    private TransferEventService eventService;
+    private TransferProgress     progress;
+    private TransferJob          job;
+
+    @BeforeEach
+    void setUp() {
+        eventService = new TransferEventService(jobService, TransferProperties.defaults());
+        progress     = new TransferProgress("BATCH-SSE01", 100, 10, 0, 10, 1, 2, 16);
+        job          = new TransferJob(progress);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventService.shutdown();
+    }
+
+    /** Captures events instead of writing them to a response. */
+    static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder.build().stream()
+                    .map(d -> String.valueOf(d.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+
+    @Test
+    @DisplayName("Ticks with no new progress are coalesced away")
+    void unchangedProgress_emitsOnlyOnce() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        TransferEventService.ProgressStream stream = new TransferEventService.ProgressStream(job, emitter);
+        job.started();
+
+        assertThat(stream.publish()).isTrue();
+        assertThat(stream.publish()).isTrue();
+        assertThat(stream.publish()).isTrue();
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(emitter.events.get(0)).contains("event:progress");
+    }
+
+    @Test
+    @DisplayName("Many page updates between ticks produce a single event")
+    void burstOfUpdates_isCoalescedIntoOneEvent() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        TransferEventService.ProgressStream stream = new TransferEventService.ProgressStream(job, emitter);
+        job.started();
+        stream.publish();
+
+        for (int i = 0; i < 5; i++) {
+            progress.getPagesSucceeded().incrementAndGet();
+            progress.getRecordsInserted().addAndGet(10);
+        }
+        progress.getRetriesTotal().incrementAndGet();
+        stream.publish();
+
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(1)).contains("id:5");
+    }
+
+    @Test
+    @DisplayName("A finished job sends a final complete event and closes the stream")
+    void finishedJob_sendsCompleteAndCloses() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        TransferEventService.ProgressStream stream = new TransferEventService.ProgressStream(job, emitter);
+        job.started();
+        progress.getPagesSucceeded().addAndGet(10);
+        job.completed(progress.toSummary());
+
+        assertThat(stream.publish()).isFalse();
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(emitter.events.get(0)).contains("event:complete");
+        assertThat(emitter.completed).isTrue();
+    }
+
+    @Test
+    @DisplayName("Subscribing streams progress until the job completes")
+    void subscribe_streamsUntilComplete() throws Exception {
+        RecordingEmitter emitter = new RecordingEmitter();
+        job.started();
+
+        eventService.subscribe(job, emitter);
+        progress.getPagesSucceeded().incrementAndGet();
+        job.completed(progress.toSummary());
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!emitter.completed && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(emitter.completed).isTrue();
+        assertThat(emitter.events.get(emitter.events.size() - 1)).contains("event:complete");
+    }
+
+    @Test
+    @DisplayName("Streams opened for a job id time out instead of living forever")
+    void subscribe_byJobId_hasFiniteTimeout() {
+        when(jobService.find(job.id())).thenReturn(Optional.of(job));
+
+        SseEmitter emitter = eventService.subscribe(job.id());
+
+        assertThat(emitter.getTimeout()).isEqualTo(TransferEventService.STREAM_TIMEOUT.toMillis());
+        emitter.complete();
+    }
+
+    @Test
+    @DisplayName("Subscribing to an unknown job fails with JobNotFoundException")
+    void subscribe_unknownJob_throws() {
+        when(jobService.find("BATCH-NOPE")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> eventService.subscribe("BATCH-NOPE"))
+                .isInstanceOf(JobNotFoundException.class);
+    }
+}
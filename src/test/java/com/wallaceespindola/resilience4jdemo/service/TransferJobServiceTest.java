@@ -0,0 +1,186 @@
+package com.wallaceespindola.resilience4jdemo.service;
+
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
+import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransferJobService Tests")
+class TransferJobServiceTest {
+
+    @Mock private TransferService transferService;
+
+    private TransferJobService jobService;
+
+    @AfterEach
+    void tearDown() {
+        if (jobService != null) jobService.shutdown();
+    }
+
+    private TransferJobService buildJobService(int jobThreads, int jobQueueCapacity, int jobHistory) {
+        return new TransferJobService(transferService,
+                new TransferProperties(2, 16, 4, jobThreads, jobQueueCapacity, jobHistory,
+                        Duration.ofMillis(500), Duration.ofHours(1)));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static TransferProgress progress(String batchId) {
+        return new TransferProgress(batchId, 10, 5, 0, 2, 1, 2, 16);
+    }
+
+    @Test
+    @DisplayName("Submit returns immediately and the job completes in the background")
+    void submit_returnsImmediately_thenCompletes() throws Exception {
+        jobService = buildJobService(1, 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        TransferProgress progress = progress("BATCH-JOB001");
+        when(transferService.prepare(10, 5, 1)).thenReturn(progress);
+        when(transferService.run(progress)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return progress.toSummary();
+        });
+
+        TransferJobStatus submitted = jobService.submit(10, 5, 1);
+
+        assertThat(submitted.jobId()).isEqualTo("BATCH-JOB001");
+        assertThat(submitted.state()).isIn("QUEUED", "RUNNING");
+        assertThat(submitted.finishedAt()).isNull();
+
+        release.countDown();
+        waitUntil(
+                () -> "COMPLETED".equals(jobService.status("BATCH-JOB001").orElseThrow().state()));
+        assertThat(jobService.status("BATCH-JOB001").orElseThrow().finishedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Polling a running job returns its live counters")
+    void status_whileRunning_showsLiveCounters() throws Exception {
+        jobService = buildJobService(1, 1, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        TransferProgress progress = progress("BATCH-JOB002");
+        when(transferService.prepare(anyInt(), anyInt(), anyInt())).thenReturn(progress);
+        when(transferService.run(progress)).thenAnswer(inv -> {
+            progress.getPagesSucceeded().incrementAndGet();
+            progress.getRecordsInserted().addAndGet(5);
+            release.await(5, TimeUnit.SECONDS);
+            return progress.toSummary();
+        });
+
+        jobService.submit(10, 5, 1);
+        waitUntil(
+                () -> jobService.status("BATCH-JOB002").orElseThrow().progress().recordsInserted() == 5);
+
+        TransferJobStatus running = jobService.status("BATCH-JOB002").orElseThrow();
+        assertThat(running.state()).isEqualTo("RUNNING");
+        assertThat(running.progress().pagesSucceeded()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("A job whose transfer throws ends in FAILED with the error message")
+    void failingTransfer_marksJobFailed() throws Exception {
+        jobService = buildJobService(1, 1, 10);
+        TransferProgress progress = progress("BATCH-JOB003");
+        when(transferService.prepare(anyInt(), anyInt(), anyInt())).thenReturn(progress);
+        when(transferService.run(any())).thenThrow(new IllegalStateException("boom"));
+
+        jobService.submit(10, 5, 1);
+
+        waitUntil(
+                () -> "FAILED".equals(jobService.status("BATCH-JOB003").orElseThrow().state()));
+        assertThat(jobService.status("BATCH-JOB003").orElseThrow().error()).isEqualTo("boom");
+    }
+
+    @Test
+    @DisplayName("Submissions beyond job threads + queue capacity are rejected")
+    void submit_whenSaturated_isRejected() throws Exception {
+        jobService = buildJobService(1, 0, 10);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transferService.prepare(anyInt(), anyInt(), anyInt()))
+                .thenReturn(progress("BATCH-JOB004"), progress("BATCH-JOB005"));
+        when(transferService.run(any())).thenAnswer(inv -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return TransferSummary.builder().build();
+        });
+
+        jobService.submit(10, 5, 1);
+        // The only job thread must be busy (and the run stub used) before the second submit
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> jobService.submit(10, 5, 1))
+                .isInstanceOf(JobQueueFullException.class);
+        assertThat(jobService.status("BATCH-JOB005")).isEmpty();
+        verify(transferService).release(argThat(p -> "BATCH-JOB005".equals(p.getBatchId())));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Only the most recent finished jobs are retained")
+    void finishedJobs_beyondHistory_areEvicted() throws Exception {
+        jobService = buildJobService(1, 5, 2);
+        when(transferService.prepare(anyInt(), anyInt(), anyInt()))
+                .thenReturn(progress("BATCH-A"), progress("BATCH-B"), progress("BATCH-C"));
+        when(transferService.run(any())).thenReturn(TransferSummary.builder().build());
+
+        jobService.submit(10, 5, 1);
+        jobService.submit(10, 5, 1);
+        waitUntil(() -> jobService.listJobs().stream()
+                .allMatch(j -> "COMPLETED".equals(j.state())));
+        jobService.submit(10, 5, 1);
+
+        assertThat(jobService.status("BATCH-A")).isEmpty();
+        assertThat(jobService.listJobs()).extracting(TransferJobStatus::jobId)
+                .containsExactly("BATCH-B", "BATCH-C");
+    }
+
+    @Test
+    @DisplayName("submitResume schedules the remaining pages of a batch under its own id")
+    void submitResume_runsAsJob() throws Exception {
+        jobService = buildJobService(1, 1, 10);
+        TransferProgress resumed = new TransferProgress("BATCH-OLD", 10, 5, 1, 1, 1, 2, 16);
+        when(transferService.prepareResume("BATCH-OLD")).thenReturn(resumed);
+        when(transferService.run(resumed)).thenReturn(resumed.toSummary());
+
+        TransferJobStatus status = jobService.submitResume("BATCH-OLD");
+
+        assertThat(status.jobId()).isEqualTo("BATCH-OLD");
+        waitUntil(() -> "COMPLETED".equals(jobService.status("BATCH-OLD").orElseThrow().state()));
+        assertThat(jobService.status("BATCH-OLD").orElseThrow().progress().startPage()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Unknown job id returns empty")
+    void status_unknownJob_isEmpty() {
+        jobService = buildJobService(1, 1, 10);
+
+        assertThat(jobService.status("BATCH-NOPE")).isEmpty();
+    }
+}
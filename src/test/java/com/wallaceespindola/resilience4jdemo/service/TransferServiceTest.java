@@ -1,33 +1,54 @@
 package com.wallaceespindola.resilience4jdemo.service;
 
+import com.wallaceespindola.resilience4jdemo.client.HedgingDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedDownstreamClient;
 import com.wallaceespindola.resilience4jdemo.client.SimulatedServerException;
+import com.wallaceespindola.resilience4jdemo.config.AdaptiveConcurrencyProperties;
+import com.wallaceespindola.resilience4jdemo.config.HedgingProperties;
+import com.wallaceespindola.resilience4jdemo.config.ResiliencePipelineProperties;
+import com.wallaceespindola.resilience4jdemo.config.TransferProperties;
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import com.wallaceespindola.resilience4jdemo.domain.TransferCheckpoint;
 import com.wallaceespindola.resilience4jdemo.domain.TransferRecord;
+import com.wallaceespindola.resilience4jdemo.dto.BatchSummary;
 import com.wallaceespindola.resilience4jdemo.dto.RecordDto;
 import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
 import com.wallaceespindola.resilience4jdemo.fault.FaultInjectionSettings;
+import com.wallaceespindola.resilience4jdemo.repo.FallbackPageRangeRepository;
+import com.wallaceespindola.resilience4jdemo.repo.TransferCheckpointRepository;
 import com.wallaceespindola.resilience4jdemo.repo.TransferRecordRepository;
 import io.github.resilience4j.bulkhead.BulkheadConfig;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.core.EventProcessor;
 import io.github.resilience4j.ratelimiter.RateLimiterConfig;
 import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
 import io.github.resilience4j.retry.RetryConfig;
 import io.github.resilience4j.retry.RetryRegistry;
 import io.github.resilience4j.timelimiter.TimeLimiterConfig;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
@@ -37,20 +58,50 @@ class TransferServiceTest {
 
     @Mock private SimulatedDownstreamClient client;
     @Mock private TransferRecordRepository  repository;
+    @Mock private TransferCheckpointRepository checkpoints;
+    @Mock private FallbackPageRangeRepository  fallbacks;
+    @Mock private PlatformTransactionManager   transactionManager;
+
+    /** One page per commit, so saveAll counts line up with page counts. */
+    private static final TransferProperties PAGE_PER_COMMIT =
+            new TransferProperties(2, 16, 1, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1));
 
     private TransferService service;
+    private RetryRegistry   retryRegistry;
 
     @BeforeEach
     void setUp() {
         // Use very permissive R4J configs so tests don't get blocked by resilience rules
-        CircuitBreakerRegistry cbRegistry = CircuitBreakerRegistry.of(
+        service = buildService(
                 CircuitBreakerConfig.custom()
                         .slidingWindowSize(100)
                         .failureRateThreshold(90)
                         .minimumNumberOfCalls(50)
+                        .build(),
+                BulkheadConfig.custom()
+                        .maxConcurrentCalls(50)
+                        .maxWaitDuration(Duration.ofMillis(50))
                         .build());
+    }
+
+    private TransferService buildService(CircuitBreakerConfig cbConfig, BulkheadConfig bhConfig) {
+        return buildService(cbConfig, bhConfig, PAGE_PER_COMMIT);
+    }
+
+    private TransferService buildService(CircuitBreakerConfig cbConfig, BulkheadConfig bhConfig,
+                                         TransferProperties properties) {
+        return buildService(cbConfig, bhConfig, properties, ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(8)
+                .maxThreadPoolSize(16)
+                .queueCapacity(16)
+                .build());
+    }
 
-        RetryRegistry retryRegistry = RetryRegistry.of(
+    private TransferService buildService(CircuitBreakerConfig cbConfig, BulkheadConfig bhConfig,
+                                         TransferProperties properties, ThreadPoolBulkheadConfig poolConfig) {
+        CircuitBreakerRegistry cbRegistry = CircuitBreakerRegistry.of(cbConfig);
+
+        retryRegistry = RetryRegistry.of(
                 RetryConfig.custom()
                         .maxAttempts(2)
                         .waitDuration(Duration.ofMillis(10))
@@ -63,19 +114,23 @@ class TransferServiceTest {
                         .timeoutDuration(Duration.ofMillis(50))
                         .build());
 
-        BulkheadRegistry bhRegistry = BulkheadRegistry.of(
-                BulkheadConfig.custom()
-                        .maxConcurrentCalls(50)
-                        .maxWaitDuration(Duration.ofMillis(50))
-                        .build());
+        BulkheadRegistry bhRegistry = BulkheadRegistry.of(bhConfig);
 
         TimeLimiterRegistry tlRegistry = TimeLimiterRegistry.of(
                 TimeLimiterConfig.custom()
                         .timeoutDuration(Duration.ofSeconds(5))
                         .build());
 
-        service = new TransferService(client, repository, cbRegistry,
-                retryRegistry, rlRegistry, bhRegistry, tlRegistry);
+        ThreadPoolBulkheadRegistry poolRegistry = ThreadPoolBulkheadRegistry.of(poolConfig);
+
+        HedgingDownstreamClient unhedged =
+                new HedgingDownstreamClient(client, HedgingProperties.disabled(), new SimpleMeterRegistry());
+
+        return new TransferService(unhedged, repository, checkpoints, fallbacks, transactionManager,
+                properties, cbRegistry,
+                retryRegistry, rlRegistry, new AdaptiveConcurrencyLimiter(bhRegistry,
+                        AdaptiveConcurrencyProperties.disabled(), new SimpleMeterRegistry()),
+                tlRegistry, poolRegistry, ResiliencePipelineProperties.defaults());
     }
 
     @Test
@@ -104,7 +159,6 @@ class TransferServiceTest {
     void failingDownstream_usesFallback() {
         when(client.fetchPage(anyInt(), anyInt()))
                 .thenThrow(new SimulatedServerException("Forced 500"));
-        when(repository.saveAll(any())).thenReturn(List.of());
 
         TransferSummary summary = service.transfer(10, 5);
 
@@ -112,6 +166,41 @@ class TransferServiceTest {
         assertThat(summary.pagesSucceeded()).isEqualTo(0);
         assertThat(summary.fallbacksUsed()).isEqualTo(2);
         assertThat(summary.durationMs()).isGreaterThanOrEqualTo(0);
+        verify(fallbacks, times(2)).saveAll(any());
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Consecutive failed pages in one commit become a single ledger range, not placeholder rows")
+    @SuppressWarnings("unchecked")
+    void failedPages_mergedIntoLedgerRanges() {
+        TransferService chunked = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build(),
+                new TransferProperties(1, 16, 4, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1)));
+        when(client.fetchPage(anyInt(), anyInt())).thenThrow(new SimulatedServerException("down"));
+        List<FallbackPageRange> saved = Collections.synchronizedList(new ArrayList<>());
+        when(fallbacks.saveAll(any())).thenAnswer(inv -> {
+            saved.addAll((List<FallbackPageRange>) inv.getArgument(0));
+            if (saved.size() == 1) {
+                Thread.sleep(200); // let the fetch stage queue up the remaining pages
+            }
+            return List.of();
+        });
+
+        TransferSummary summary = chunked.transfer(80, 10, 1);
+
+        assertThat(summary.pagesFailed()).isEqualTo(8);
+        assertThat(summary.lastCommittedPage()).isEqualTo(7);
+        assertThat(saved).hasSizeLessThan(8)
+                .allSatisfy(r -> {
+                    assertThat(r.getReason()).isEqualTo("ERROR");
+                    assertThat(r.getPageSize()).isEqualTo(10);
+                })
+                .extracting(FallbackPageRange::getPageCount)
+                .contains(4);
+        assertThat(saved.stream().mapToInt(FallbackPageRange::getPageCount).sum()).isEqualTo(8);
+        verify(repository, never()).saveAll(any());
     }
 
     @Test
@@ -143,13 +232,371 @@ class TransferServiceTest {
     }
 
     @Test
-    @DisplayName("listBatchIds delegates to repository")
-    void listBatchIds_delegatesToRepository() {
-        when(repository.findDistinctBatchIds()).thenReturn(List.of("BATCH-001", "BATCH-002"));
+    @DisplayName("Parallel transfer fetches several pages at the same time")
+    void parallelTransfer_fetchesPagesConcurrently() {
+        AtomicInteger active    = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(100);
+            active.decrementAndGet();
+            return List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", inv.getArgument(0), 0));
+        });
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary summary = service.transfer(8, 1, 4);
+
+        assertThat(summary.pagesSucceeded()).isEqualTo(8);
+        assertThat(summary.recordsInserted()).isEqualTo(8);
+        assertThat(summary.concurrency()).isEqualTo(4);
+        assertThat(maxActive.get()).isGreaterThan(1);
+        verify(repository, times(8)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Requested concurrency is capped at the bulkhead limit")
+    void parallelTransfer_concurrencyCappedAtBulkheadLimit() {
+        TransferService limited = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(2).build());
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary summary = limited.transfer(4, 1, 10);
+
+        assertThat(summary.concurrency()).isEqualTo(2);
+        assertThat(summary.pagesSucceeded()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Requested concurrency is capped at the transfer pool's threads plus queue")
+    void parallelTransfer_concurrencyCappedAtPoolCapacity() {
+        TransferService small = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(20).build(),
+                PAGE_PER_COMMIT,
+                ThreadPoolBulkheadConfig.custom()
+                        .coreThreadPoolSize(1)
+                        .maxThreadPoolSize(2)
+                        .queueCapacity(1)
+                        .build());
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            Thread.sleep(20);
+            return List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0));
+        });
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary summary = small.transfer(12, 1, 10);
+
+        assertThat(summary.concurrency()).isEqualTo(3);
+        assertThat(summary.pagesSucceeded()).isEqualTo(12);
+        assertThat(summary.bulkheadRejections()).isZero();
+    }
+
+    @Test
+    @DisplayName("In-flight pages are cancelled once the circuit breaker opens")
+    void parallelTransfer_cancelsInFlightPagesWhenCircuitOpens() {
+        TransferService fragile = buildService(
+                CircuitBreakerConfig.custom()
+                        .slidingWindowSize(2)
+                        .minimumNumberOfCalls(2)
+                        .failureRateThreshold(50)
+                        .build(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build());
+        when(client.fetchPage(anyInt(), anyInt())).thenAnswer(inv -> {
+            if ((int) inv.getArgument(0) < 2) throw new SimulatedServerException("down");
+            Thread.sleep(4_000);
+            return List.of();
+        });
+
+        TransferSummary summary = fragile.transfer(3, 1, 3);
+
+        assertThat(summary.pagesFailed()).isEqualTo(3);
+        assertThat(summary.circuitBreakerRejections()).isGreaterThanOrEqualTo(1);
+        assertThat(summary.durationMs()).isLessThan(3_000);
+    }
+
+    @Test
+    @DisplayName("Slow writers fill the hand-off queue and block the fetch stage")
+    void pipeline_slowWriters_applyBackpressure() {
+        TransferService pipelined = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build(),
+                new TransferProperties(1, 1, 1, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1)));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenAnswer(inv -> {
+            Thread.sleep(50);
+            return List.of();
+        });
+
+        TransferSummary summary = pipelined.transfer(6, 1, 1);
+
+        assertThat(summary.recordsInserted()).isEqualTo(6);
+        assertThat(summary.writerThreads()).isEqualTo(1);
+        assertThat(summary.queueCapacity()).isEqualTo(1);
+        assertThat(summary.maxQueueDepth()).isEqualTo(1);
+        assertThat(summary.fetchBlockedMs()).isGreaterThan(0);
+        verify(repository, times(6)).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("A failing write is counted without stopping the transfer")
+    void pipeline_persistFailure_isCounted() {
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any()))
+                .thenThrow(new IllegalStateException("DB down"))
+                .thenReturn(List.of());
+
+        TransferSummary summary = service.transfer(3, 1);
+
+        assertThat(summary.pagesSucceeded()).isEqualTo(3);
+        assertThat(summary.persistFailures()).isEqualTo(1);
+        assertThat(summary.lastPersistError()).isEqualTo("DB down");
+        assertThat(summary.recordsInserted()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A failing watermark update rolls back its chunk and the writer keeps draining")
+    void pipeline_watermarkFailure_rollsBackChunk() {
+        TransferService singleWriter = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build(),
+                new TransferProperties(1, 1, 1, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1)));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+        doThrow(new IllegalStateException("Checkpoint locked")).doReturn(1)
+                .when(checkpoints).advanceWatermark(anyString(), anyInt(), any());
+
+        TransferSummary summary = singleWriter.transfer(4, 1, 1);
+
+        assertThat(summary.persistFailures()).isEqualTo(1);
+        assertThat(summary.lastPersistError()).isEqualTo("Checkpoint locked");
+        assertThat(summary.recordsInserted()).isEqualTo(3);
+        assertThat(summary.lastCommittedPage()).isEqualTo(-1);
+        verify(repository, times(4)).saveAll(any());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Queued pages are committed together, up to commitChunkPages per transaction")
+    void chunkedCommits_groupQueuedPages() {
+        TransferService chunked = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build(),
+                new TransferProperties(1, 16, 4, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1)));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenAnswer(inv -> {
+            Thread.sleep(200); // let the fetch stage queue up the remaining pages
+            return List.of();
+        }).thenReturn(List.of());
+
+        TransferSummary summary = chunked.transfer(8, 1, 1);
+
+        assertThat(summary.recordsInserted()).isEqualTo(8);
+        assertThat(summary.lastCommittedPage()).isEqualTo(7);
+        verify(repository, atMost(4)).saveAll(any());
+        verify(checkpoints).advanceWatermark(eq(summary.batchId()), eq(7), any());
+    }
+
+    @Test
+    @DisplayName("A finished transfer creates its checkpoint and marks it COMPLETED")
+    void transfer_createsAndCompletesCheckpoint() {
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary summary = service.transfer(3, 1);
+
+        assertThat(summary.startPage()).isZero();
+        assertThat(summary.lastCommittedPage()).isEqualTo(2);
+        verify(checkpoints).save(argThat(c -> c.getBatchId().equals(summary.batchId())
+                && c.getPagesTotal() == 3 && c.getLastCommittedPage() == -1 && "RUNNING".equals(c.getStatus())));
+        verify(checkpoints).updateStatus(eq(summary.batchId()), eq("COMPLETED"), any());
+    }
+
+    @Test
+    @DisplayName("A failed commit holds the watermark before the failed page and leaves the batch INCOMPLETE")
+    void persistFailure_holdsWatermark() {
+        TransferService singleWriter = buildService(
+                CircuitBreakerConfig.ofDefaults(),
+                BulkheadConfig.custom().maxConcurrentCalls(10).build(),
+                new TransferProperties(1, 16, 1, 2, 8, 100, Duration.ofMillis(500), Duration.ofHours(1)));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any()))
+                .thenReturn(List.of())
+                .thenThrow(new IllegalStateException("DB down"))
+                .thenReturn(List.of());
+
+        TransferSummary summary = singleWriter.transfer(3, 1, 1);
+
+        assertThat(summary.persistFailures()).isEqualTo(1);
+        assertThat(summary.lastCommittedPage()).isZero();
+        verify(checkpoints).updateStatus(eq(summary.batchId()), eq("INCOMPLETE"), any());
+    }
+
+    @Test
+    @DisplayName("resume re-fetches only the pages above the checkpoint")
+    void resume_continuesFromCheckpoint() {
+        when(checkpoints.findById("BATCH-RESUME")).thenReturn(Optional.of(TransferCheckpoint.builder()
+                .batchId("BATCH-RESUME").totalRecords(4).pageSize(1).pagesTotal(4).concurrency(1)
+                .lastCommittedPage(1).status("INCOMPLETE").updatedAt(Instant.now())
+                .build()));
+        when(repository.deleteByBatchIdAfterPage("BATCH-RESUME", 1)).thenReturn(1);
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary summary = service.resume("BATCH-RESUME");
+
+        assertThat(summary.batchId()).isEqualTo("BATCH-RESUME");
+        assertThat(summary.startPage()).isEqualTo(2);
+        assertThat(summary.pagesAttempted()).isEqualTo(2);
+        assertThat(summary.lastCommittedPage()).isEqualTo(3);
+        verify(client, never()).fetchPage(eq(0), anyInt());
+        verify(client, never()).fetchPage(eq(1), anyInt());
+        verify(repository).deleteByBatchIdAfterPage("BATCH-RESUME", 1);
+        verify(fallbacks).deleteByBatchIdAfterPage("BATCH-RESUME", 1);
+        verify(checkpoints).updateStatus(eq("BATCH-RESUME"), eq("COMPLETED"), any());
+    }
+
+    @Test
+    @DisplayName("Two back-to-back resumes: the second is refused before deleting anything, one runs")
+    void resume_twiceBackToBack_onlyOneRuns() {
+        when(checkpoints.findById("BATCH-RESUME")).thenReturn(Optional.of(TransferCheckpoint.builder()
+                .batchId("BATCH-RESUME").totalRecords(4).pageSize(1).pagesTotal(4).concurrency(1)
+                .lastCommittedPage(1).status("INCOMPLETE").updatedAt(Instant.now())
+                .build()));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferProgress first = service.prepareResume("BATCH-RESUME");
+        assertThatThrownBy(() -> service.prepareResume("BATCH-RESUME"))
+                .isInstanceOf(BatchConflictException.class)
+                .hasMessageContaining("still running");
+        assertThat(service.isActive("BATCH-RESUME")).isTrue();
+
+        TransferSummary summary = service.run(first);
+
+        assertThat(summary.recordsInserted()).isEqualTo(2);
+        assertThat(service.isActive("BATCH-RESUME")).isFalse();
+        verify(repository, times(1)).deleteByBatchIdAfterPage("BATCH-RESUME", 1);
+        verify(fallbacks, times(1)).deleteByBatchIdAfterPage("BATCH-RESUME", 1);
+        verify(client, times(2)).fetchPage(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("A prepared resume that is released frees its batch for the next resume")
+    void prepareResume_release_freesBatch() {
+        when(checkpoints.findById("BATCH-RESUME")).thenReturn(Optional.of(TransferCheckpoint.builder()
+                .batchId("BATCH-RESUME").totalRecords(4).pageSize(1).pagesTotal(4).concurrency(1)
+                .lastCommittedPage(1).status("INCOMPLETE").updatedAt(Instant.now())
+                .build()));
+
+        service.release(service.prepareResume("BATCH-RESUME"));
+
+        assertThat(service.isActive("BATCH-RESUME")).isFalse();
+        assertThat(service.prepareResume("BATCH-RESUME").getStartPage()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("resume refuses completed and unknown batches")
+    void resume_completedOrUnknownBatch_isRefused() {
+        when(checkpoints.findById("BATCH-DONE")).thenReturn(Optional.of(TransferCheckpoint.builder()
+                .batchId("BATCH-DONE").pagesTotal(2).lastCommittedPage(1).status("COMPLETED")
+                .updatedAt(Instant.now()).build()));
+        when(checkpoints.findById("BATCH-NOPE")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.resume("BATCH-DONE")).isInstanceOf(BatchConflictException.class);
+        assertThatThrownBy(() -> service.resume("BATCH-NOPE")).isInstanceOf(BatchNotFoundException.class);
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    @DisplayName("prepare allocates a batch without fetching; run updates its live progress")
+    void prepareThenRun_updatesProgress() {
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenReturn(List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0)));
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferProgress progress = service.prepare(3, 1, 1);
+
+        assertThat(progress.getBatchId()).startsWith("BATCH-");
+        assertThat(progress.getPagesAttempted()).isEqualTo(3);
+        assertThat(progress.pagesDone()).isZero();
+        verifyNoInteractions(client);
+
+        TransferSummary summary = service.run(progress);
+
+        assertThat(summary.batchId()).isEqualTo(progress.getBatchId());
+        assertThat(progress.pagesDone()).isEqualTo(3);
+        assertThat(progress.getRecordsInserted().get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Retries are counted per transfer without adding listeners to the shared Retry")
+    void retries_countedPerTransfer_withoutListeners() {
+        List<RecordDto> page = List.of(new RecordDto("EXT-001", "N1", "CAT", "1.00", 0, 0));
+        when(client.fetchPage(anyInt(), anyInt()))
+                .thenThrow(new SimulatedServerException("Transient"))
+                .thenReturn(page);
+        when(repository.saveAll(any())).thenReturn(List.of());
+
+        TransferSummary first  = service.transfer(2, 1);
+        TransferSummary second = service.transfer(2, 1);
+
+        assertThat(first.retriesTotal()).isEqualTo(1);
+        assertThat(first.pagesSucceeded()).isEqualTo(2);
+        assertThat(second.retriesTotal()).isZero();
+        EventProcessor<?> publisher = (EventProcessor<?>) retryRegistry.retry("downstream").getEventPublisher();
+        assertThat(publisher.hasConsumers()).isFalse();
+    }
+
+    @Test
+    @DisplayName("listBatchIds merges record and fallback-ledger batches, newest first")
+    void listBatchIds_mergesRecordsAndLedger() {
+        when(repository.findDistinctBatchIds()).thenReturn(List.of("BATCH-002", "BATCH-001"));
+        when(fallbacks.findDistinctBatchIds()).thenReturn(List.of("BATCH-002", "BATCH-003"));
 
         List<String> ids = service.listBatchIds();
 
-        assertThat(ids).containsExactly("BATCH-001", "BATCH-002");
+        assertThat(ids).containsExactly("BATCH-003", "BATCH-002", "BATCH-001");
+    }
+
+    @Test
+    @DisplayName("getBatchSummary combines inserted rows, fallback ledger totals and checkpoint")
+    void getBatchSummary_combinesRecordsLedgerAndCheckpoint() {
+        when(checkpoints.findById("BATCH-001")).thenReturn(Optional.of(TransferCheckpoint.builder()
+                .batchId("BATCH-001").pagesTotal(10).lastCommittedPage(9).status("COMPLETED")
+                .updatedAt(Instant.now()).build()));
+        when(repository.countByBatchIdAndStatus("BATCH-001", "inserted")).thenReturn(700L);
+        when(fallbacks.countByBatchId("BATCH-001")).thenReturn(2L);
+        when(fallbacks.sumPagesByBatchId("BATCH-001")).thenReturn(3L);
+        when(fallbacks.sumRecordsByBatchId("BATCH-001")).thenReturn(300L);
+
+        BatchSummary summary = service.getBatchSummary("BATCH-001");
+
+        assertThat(summary.status()).isEqualTo("COMPLETED");
+        assertThat(summary.pagesTotal()).isEqualTo(10);
+        assertThat(summary.recordsInserted()).isEqualTo(700);
+        assertThat(summary.fallbackPages()).isEqualTo(3);
+        assertThat(summary.fallbackRecords()).isEqualTo(300);
+        assertThat(summary.fallbackRanges()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getBatchSummary rejects unknown batches")
+    void getBatchSummary_unknownBatch_throws() {
+        when(checkpoints.findById("BATCH-NOPE")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getBatchSummary("BATCH-NOPE"))
+                .isInstanceOf(BatchNotFoundException.class);
     }
 
     @Test
@@ -30,7 +30,7 @@ class MetricsControllerTest {
                 .retry(new ResilienceMetricsDto.RetryMetrics(0, 0, 0, 0))
                 .rateLimiter(new ResilienceMetricsDto.RateLimiterMetrics(5, 0))
                 .bulkhead(new ResilienceMetricsDto.BulkheadMetrics(5, 5))
-                .cache(new ResilienceMetricsDto.CacheMetrics(0, 0, 0))
+                .cache(new ResilienceMetricsDto.CacheMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0, -1, 0))
                 .build();
         when(service.snapshot()).thenReturn(dto);
 
@@ -49,7 +49,7 @@ class MetricsControllerTest {
                 .retry(new ResilienceMetricsDto.RetryMetrics(0, 0, 0, 0))
                 .rateLimiter(new ResilienceMetricsDto.RateLimiterMetrics(5, 0))
                 .bulkhead(new ResilienceMetricsDto.BulkheadMetrics(5, 5))
-                .cache(new ResilienceMetricsDto.CacheMetrics(0, 0, 0))
+                .cache(new ResilienceMetricsDto.CacheMetrics(0, 0, 0, 0, 0, 0, 0, 0, 0, -1, 0))
                 .build());
 
         mockMvc.perform(get("/api/metrics/resilience"))
@@ -1,8 +1,17 @@
 package com.wallaceespindola.resilience4jdemo.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallaceespindola.resilience4jdemo.domain.FallbackPageRange;
+import com.wallaceespindola.resilience4jdemo.dto.BatchSummary;
+import com.wallaceespindola.resilience4jdemo.dto.TransferJobStatus;
 import com.wallaceespindola.resilience4jdemo.dto.TransferRequest;
 import com.wallaceespindola.resilience4jdemo.dto.TransferSummary;
+import com.wallaceespindola.resilience4jdemo.service.BatchConflictException;
+import com.wallaceespindola.resilience4jdemo.service.BatchNotFoundException;
+import com.wallaceespindola.resilience4jdemo.service.JobNotFoundException;
+import com.wallaceespindola.resilience4jdemo.service.JobQueueFullException;
+import com.wallaceespindola.resilience4jdemo.service.TransferEventService;
+import com.wallaceespindola.resilience4jdemo.service.TransferJobService;
 import com.wallaceespindola.resilience4jdemo.service.TransferService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,10 +21,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -29,6 +42,8 @@ class TransferControllerTest {
     @Autowired ObjectMapper objectMapper;
 
     @MockBean TransferService service;
+    @MockBean TransferJobService jobService;
+    @MockBean TransferEventService eventService;
 
     private TransferSummary buildSummary() {
         return TransferSummary.builder()
@@ -44,7 +59,7 @@ class TransferControllerTest {
     @Test
     @DisplayName("POST /api/transfer/start returns 200 with summary")
     void postStart_returns200() throws Exception {
-        when(service.transfer(anyInt(), anyInt())).thenReturn(buildSummary());
+        when(service.transfer(anyInt(), anyInt(), anyInt())).thenReturn(buildSummary());
         TransferRequest req = new TransferRequest(10, 5);
 
         mockMvc.perform(post("/api/transfer/start")
@@ -60,13 +75,150 @@ class TransferControllerTest {
     @Test
     @DisplayName("GET /api/transfer/start/{n}/{pageSize} returns 200")
     void getStart_returns200() throws Exception {
-        when(service.transfer(anyInt(), anyInt())).thenReturn(buildSummary());
+        when(service.transfer(anyInt(), anyInt(), anyInt())).thenReturn(buildSummary());
 
         mockMvc.perform(get("/api/transfer/start/10/5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.batchId").value("BATCH-TEST01"));
     }
 
+    @Test
+    @DisplayName("GET /api/transfer/start/{n}/{pageSize}?concurrency=4 passes concurrency through")
+    void getStart_withConcurrency_passesItToService() throws Exception {
+        when(service.transfer(10, 5, 4)).thenReturn(buildSummary());
+
+        mockMvc.perform(get("/api/transfer/start/10/5").param("concurrency", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.batchId").value("BATCH-TEST01"));
+        verify(service).transfer(10, 5, 4);
+    }
+
+    private TransferJobStatus buildJob(String state) {
+        return new TransferJobStatus("BATCH-TEST01", state, null,
+                "2026-01-01T00:00:00Z", null, null, buildSummary());
+    }
+
+    @Test
+    @DisplayName("POST /api/transfer/jobs returns 202 with the job id")
+    void postJob_returns202() throws Exception {
+        when(jobService.submit(10, 5, 0)).thenReturn(buildJob("QUEUED"));
+
+        mockMvc.perform(post("/api/transfer/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(10, 5))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value("BATCH-TEST01"))
+                .andExpect(jsonPath("$.data.state").value("QUEUED"));
+        verify(jobService).submit(10, 5, 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/transfer/jobs returns 429 when the job pool is saturated")
+    void postJob_saturated_returns429() throws Exception {
+        when(jobService.submit(anyInt(), anyInt(), anyInt()))
+                .thenThrow(new JobQueueFullException("Too many transfer jobs in progress", null));
+
+        mockMvc.perform(post("/api/transfer/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(10, 5))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    @DisplayName("A rejection from any other executor is a server error, not a 429")
+    void postJob_otherRejection_returns500() throws Exception {
+        when(jobService.submit(anyInt(), anyInt(), anyInt()))
+                .thenThrow(new RejectedExecutionException("Executor shut down"));
+
+        mockMvc.perform(post("/api/transfer/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TransferRequest(10, 5))))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/jobs/{id} returns live job status")
+    void getJob_returnsStatus() throws Exception {
+        when(jobService.status("BATCH-TEST01")).thenReturn(Optional.of(buildJob("RUNNING")));
+
+        mockMvc.perform(get("/api/transfer/jobs/BATCH-TEST01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.state").value("RUNNING"))
+                .andExpect(jsonPath("$.data.progress.recordsInserted").value(10));
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/jobs/{id} returns 404 for an unknown job")
+    void getJob_unknown_returns404() throws Exception {
+        when(jobService.status("BATCH-NOPE")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/transfer/jobs/BATCH-NOPE"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("error"));
+    }
+
+    @Test
+    @DisplayName("POST /api/transfer/resume/{batchId} returns 202 with the resumed job")
+    void postResume_returns202() throws Exception {
+        when(jobService.submitResume("BATCH-TEST01")).thenReturn(buildJob("QUEUED"));
+
+        mockMvc.perform(post("/api/transfer/resume/BATCH-TEST01"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data.jobId").value("BATCH-TEST01"));
+    }
+
+    @Test
+    @DisplayName("POST /api/transfer/resume/{batchId} returns 409 for a completed batch")
+    void postResume_completedBatch_returns409() throws Exception {
+        when(jobService.submitResume("BATCH-DONE"))
+                .thenThrow(new BatchConflictException("Batch BATCH-DONE is already complete"));
+
+        mockMvc.perform(post("/api/transfer/resume/BATCH-DONE"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Batch BATCH-DONE is already complete"));
+    }
+
+    @Test
+    @DisplayName("An IllegalStateException from inside the service is a 500, not a 409")
+    void postResume_internalFailure_returns500() throws Exception {
+        when(jobService.submitResume("BATCH-TEST01"))
+                .thenThrow(new IllegalStateException("Interrupted while fetching page 3"));
+
+        mockMvc.perform(post("/api/transfer/resume/BATCH-TEST01"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/jobs lists recent jobs")
+    void getJobs_returnsList() throws Exception {
+        when(jobService.listJobs()).thenReturn(List.of(buildJob("COMPLETED")));
+
+        mockMvc.perform(get("/api/transfer/jobs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].state").value("COMPLETED"));
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/jobs/{id}/events opens an SSE stream")
+    void getJobEvents_startsAsyncStream() throws Exception {
+        when(eventService.subscribe("BATCH-TEST01")).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/transfer/jobs/BATCH-TEST01/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/jobs/{id}/events returns 404 for an unknown job")
+    void getJobEvents_unknown_returns404() throws Exception {
+        when(eventService.subscribe("BATCH-NOPE"))
+                .thenThrow(new JobNotFoundException("Unknown transfer job: BATCH-NOPE"));
+
+        mockMvc.perform(get("/api/transfer/jobs/BATCH-NOPE/events"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("GET /api/transfer/history returns batch id list")
     void getHistory_returnsList() throws Exception {
@@ -88,10 +240,45 @@ class TransferControllerTest {
                 .andExpect(jsonPath("$.data").isArray());
     }
 
+    @Test
+    @DisplayName("GET /api/transfer/batch/{id}/summary returns inserted and fallback totals")
+    void getBatchSummary_returnsTotals() throws Exception {
+        when(service.getBatchSummary("BATCH-A"))
+                .thenReturn(new BatchSummary("BATCH-A", "COMPLETED", 10, 9, 700, 3, 300, 2));
+
+        mockMvc.perform(get("/api/transfer/batch/BATCH-A/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.recordsInserted").value(700))
+                .andExpect(jsonPath("$.data.fallbackRecords").value(300))
+                .andExpect(jsonPath("$.data.fallbackRanges").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/batch/{id}/summary returns 404 for unknown batches")
+    void getBatchSummary_unknown_returns404() throws Exception {
+        when(service.getBatchSummary("BATCH-X")).thenThrow(new BatchNotFoundException("Unknown batch: BATCH-X"));
+
+        mockMvc.perform(get("/api/transfer/batch/BATCH-X/summary"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/transfer/batch/{id}/fallbacks returns the ledger ranges")
+    void getBatchFallbacks_returnsRanges() throws Exception {
+        when(service.getFallbacksForBatch("BATCH-A")).thenReturn(List.of(FallbackPageRange.builder()
+                .batchId("BATCH-A").firstPage(4).pageCount(3).pageSize(100).reason("CIRCUIT_OPEN").build()));
+
+        mockMvc.perform(get("/api/transfer/batch/BATCH-A/fallbacks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].firstPage").value(4))
+                .andExpect(jsonPath("$.data[0].pageCount").value(3))
+                .andExpect(jsonPath("$.data[0].reason").value("CIRCUIT_OPEN"));
+    }
+
     @Test
     @DisplayName("Response always includes correlationId")
     void response_includesCorrelationId() throws Exception {
-        when(service.transfer(anyInt(), anyInt())).thenReturn(buildSummary());
+        when(service.transfer(anyInt(), anyInt(), anyInt())).thenReturn(buildSummary());
 
         mockMvc.perform(post("/api/transfer/start")
                         .contentType(MediaType.APPLICATION_JSON)